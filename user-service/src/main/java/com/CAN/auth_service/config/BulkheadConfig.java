@@ -0,0 +1,71 @@
+package com.CAN.auth_service.config;
+
+import com.CAN.auth_service.filter.Bulkhead;
+import com.CAN.auth_service.filter.BulkheadFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(BulkheadProperties.class)
+@ConditionalOnProperty(prefix = "auth.bulkhead", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    @Bean
+    public BulkheadFilter bulkheadFilter(BulkheadProperties properties,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${server.tomcat.threads.max:200}") int tomcatMaxThreads) {
+        // Voie réservée : login/register et le reste ne peuvent jamais occuper tous les threads Tomcat
+        int sharedThreads = properties.getCredentials().maxThreads() + properties.getGeneral().maxThreads();
+        if (tomcatMaxThreads - sharedThreads < properties.getReservedValidationThreads()) {
+            throw new IllegalStateException("Bulkheads leave " + (tomcatMaxThreads - sharedThreads)
+                    + " Tomcat threads for /validate, " + properties.getReservedValidationThreads()
+                    + " required: lower credentials/general limits or raise server.tomcat.threads.max");
+        }
+
+        BulkheadFilter.Lane validation = lane("validation", properties.getValidation(),
+                "{\"valid\":false,\"error\":\"Validation capacity exceeded, retry later\"}");
+        BulkheadFilter.Lane credentials = lane("credentials", properties.getCredentials(),
+                "{\"error\":\"Too many login/register requests, retry later\"}");
+        BulkheadFilter.Lane general = lane("general", properties.getGeneral(),
+                "{\"error\":\"Service busy, retry later\"}");
+
+        for (BulkheadFilter.Lane lane : List.of(validation, credentials, general)) {
+            registerMetrics(meterRegistry, lane.bulkhead());
+        }
+        return new BulkheadFilter(validation, credentials, general);
+    }
+
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilterRegistration(BulkheadFilter bulkheadFilter) {
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(bulkheadFilter);
+        // Après JfrRequestFilter (les rejets restent visibles), avant Spring Security
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static BulkheadFilter.Lane lane(String name, BulkheadProperties.Lane settings, String rejectionBody) {
+        Bulkhead bulkhead = new Bulkhead(name, settings.getMaxConcurrent(), settings.getMaxQueue(), settings.getMaxWaitMs());
+        return new BulkheadFilter.Lane(bulkhead, settings.getRejectionStatus(), settings.getRetryAfterSeconds(), rejectionBody);
+    }
+
+    // Exposées sur /actuator/metrics/auth.bulkhead.* avec le tag lane
+    private static void registerMetrics(MeterRegistry registry, Bulkhead bulkhead) {
+        String lane = bulkhead.getName();
+        Gauge.builder("auth.bulkhead.active", bulkhead, Bulkhead::getActive).tag("lane", lane).register(registry);
+        Gauge.builder("auth.bulkhead.queued", bulkhead, Bulkhead::getQueued).tag("lane", lane).register(registry);
+        Gauge.builder("auth.bulkhead.saturation", bulkhead, Bulkhead::getSaturation).tag("lane", lane).register(registry);
+        Gauge.builder("auth.bulkhead.max.concurrent", bulkhead, Bulkhead::getMaxConcurrent).tag("lane", lane).register(registry);
+        FunctionCounter.builder("auth.bulkhead.accepted", bulkhead, Bulkhead::getAccepted).tag("lane", lane).register(registry);
+        FunctionCounter.builder("auth.bulkhead.rejected", bulkhead, Bulkhead::getRejected).tag("lane", lane).register(registry);
+    }
+}
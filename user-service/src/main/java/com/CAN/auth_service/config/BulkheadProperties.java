@@ -0,0 +1,47 @@
+package com.CAN.auth_service.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// Réglages des cloisons : auth.bulkhead.{validation|credentials|general}.*
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "auth.bulkhead")
+public class BulkheadProperties {
+
+    private boolean enabled = true;
+
+    // Threads Tomcat qui restent toujours disponibles pour /validate
+    private int reservedValidationThreads = 40;
+
+    private Lane validation = new Lane(40, 100, 20, 503, 1);
+    private Lane credentials = new Lane(24, 40, 2000, 429, 2);
+    private Lane general = new Lane(48, 48, 1000, 503, 1);
+
+    @Getter
+    @Setter
+    public static class Lane {
+        private int maxConcurrent;
+        private int maxQueue;
+        private long maxWaitMs;
+        private int rejectionStatus;
+        private int retryAfterSeconds;
+
+        public Lane() {
+        }
+
+        Lane(int maxConcurrent, int maxQueue, long maxWaitMs, int rejectionStatus, int retryAfterSeconds) {
+            this.maxConcurrent = maxConcurrent;
+            this.maxQueue = maxQueue;
+            this.maxWaitMs = maxWaitMs;
+            this.rejectionStatus = rejectionStatus;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        // Nombre maximum de threads Tomcat occupés par la cloison (en cours + en attente)
+        int maxThreads() {
+            return maxConcurrent + maxQueue;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.CAN.auth_service.config;
+
+import com.CAN.auth_service.jfr.RepositoryJfrPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Événements JFR custom : voir src/main/resources/jfr/auth-service.jfc pour le profil d'enregistrement
+@Configuration
+public class JfrConfig {
+
+    @Bean
+    public static RepositoryJfrPostProcessor repositoryJfrPostProcessor() {
+        return new RepositoryJfrPostProcessor();
+    }
+}
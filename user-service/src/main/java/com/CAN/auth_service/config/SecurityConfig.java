@@ -1,6 +1,7 @@
 package com.CAN.auth_service.config;
 
 import com.CAN.auth_service.filter.JwtAuthFilter;
+import com.CAN.auth_service.jfr.JfrPasswordEncoder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -36,7 +37,9 @@ public class SecurityConfig {
                             "/v3/api-docs/**"
                         ).permitAll()
                         .requestMatchers("/error").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        // Seule la santé est publique ; /actuator/metrics expose tous les compteurs
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("ADMIN")
                         .requestMatchers("/api/CAN/users/**").authenticated()
                         .anyRequest().authenticated()
                 )
@@ -50,7 +53,8 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Chaque appel bcrypt est mesuré par un événement JFR
+        return new JfrPasswordEncoder(new BCryptPasswordEncoder());
     }
 
     
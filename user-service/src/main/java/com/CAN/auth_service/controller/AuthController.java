@@ -7,6 +7,7 @@ import com.CAN.auth_service.entity.User;
 import com.CAN.auth_service.entity.VerificationToken;
 import com.CAN.auth_service.service.EmailService;
 import com.CAN.auth_service.service.JwtService;
+import com.CAN.auth_service.service.LoginEventRecorder;
 import com.CAN.auth_service.service.UserService;
 import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
@@ -25,6 +26,7 @@ public class AuthController {
     private final UserService userService;
     private final EmailService emailService;
     private final JwtService jwtService;
+    private final LoginEventRecorder loginEventRecorder;
 
     // === REGISTER ===
     @PostMapping("/register")
@@ -78,8 +80,10 @@ public class AuthController {
     public ResponseEntity<String> login(@RequestBody LoginRequest request) {
         User user = userService.authenticate(request.getEmail(), request.getPassword());
         if (user == null) {
+            loginEventRecorder.recordFailure(request.getEmail());
             return ResponseEntity.badRequest().body("Invalide credentials or inactive account.");
         }
+        loginEventRecorder.recordSuccess(user.getId(), user.getEmail());
 
         String token = jwtService.generateToken(user.getEmail(), user.getRole().name());
         return ResponseEntity.ok(token);
@@ -101,10 +105,10 @@ public class AuthController {
         //  Extraire le token sans le préfixe "Bearer "
         String token = authHeader.substring(7);
 
-        // Vérifier sa validité via JwtService
-        boolean isValid = jwtService.isTokenValid(token);
+        // Vérifier sa validité et lire les claims en un seul parsing (route la plus sollicitée)
+        Claims claims = jwtService.extractValidClaims(token);
 
-        if (!isValid) {
+        if (claims == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of(
                             "valid", false,
@@ -113,7 +117,6 @@ public class AuthController {
         }
 
         // Extraire les informations (email et rôle)
-        Claims claims = jwtService.extractClaims(token);
         String email = claims.getSubject();
         String role = claims.get("role", String.class);
 
@@ -1,14 +1,19 @@
 package com.CAN.auth_service.controller;
 
+import com.CAN.auth_service.dto.BulkUserRequest;
 import com.CAN.auth_service.dto.UpdateProfileRequest;
 import com.CAN.auth_service.dto.UpdateUserRequest;
 import com.CAN.auth_service.dto.UserProfileDTO;
+import com.CAN.auth_service.dto.UserStatsDTO;
 import com.CAN.auth_service.entity.Role;
 import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.filter.RoleAuthorities;
 import com.CAN.auth_service.service.JwtService;
 import com.CAN.auth_service.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -52,6 +57,22 @@ public class UserController {
         }
     }
 
+    // === PATCH CURRENT USER PROFILE ===
+    @PatchMapping("/profile")
+    public ResponseEntity<?> patchCurrentUserProfile(@Valid @RequestBody UpdateProfileRequest request) {
+        try {
+            String email = getCurrentUserEmail();
+            UserProfileDTO updatedProfile = userService.patchUserProfile(email, request);
+            return ResponseEntity.ok(updatedProfile);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Conflict: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Error updating profile: " + e.getMessage()));
+        }
+    }
+
     // === GET ALL USERS (ADMIN ONLY) ===
     @GetMapping
     public ResponseEntity<?> getAllUsers() {
@@ -68,6 +89,18 @@ public class UserController {
         }
     }
 
+    // === GET USER STATS (ADMIN ONLY) ===
+    // Compteurs en mémoire : aucune requête SQL
+    @GetMapping("/stats")
+    public ResponseEntity<?> getUserStats() {
+        if (!isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(Map.of("error", "Access denied. Admin role required."));
+        }
+        UserStatsDTO stats = userService.getUserStats();
+        return ResponseEntity.ok(stats);
+    }
+
     // === GET USER BY ID (ADMIN ONLY) ===
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
@@ -101,6 +134,29 @@ public class UserController {
         }
     }
 
+    // === PATCH USER BY ID (ADMIN ONLY) ===
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patchUser(@PathVariable Long id,
+                                       @Valid @RequestBody UpdateUserRequest request) {
+        try {
+            if (!isAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "Access denied. Admin role required."));
+            }
+            UserProfileDTO updatedUser = userService.patchUser(id, request);
+            return ResponseEntity.ok(updatedUser);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Conflict: " + e.getMessage()));
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Conflict: username or email already in use"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Error updating user: " + e.getMessage()));
+        }
+    }
+
     // === DELETE USER (ADMIN ONLY) ===
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
@@ -117,6 +173,25 @@ public class UserController {
         }
     }
 
+    // === BULK DELETE / DISABLE USERS (ADMIN ONLY) ===
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulkUpdateUsers(@Valid @RequestBody BulkUserRequest request) {
+        try {
+            if (!isAdmin()) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                        .body(Map.of("error", "Access denied. Admin role required."));
+            }
+            int affected = userService.bulkUpdateUsers(request);
+            return ResponseEntity.ok(Map.of(
+                    "action", request.getAction().name(),
+                    "affected", affected
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Error in bulk operation: " + e.getMessage()));
+        }
+    }
+
     // === GET USERS BY ROLE (ADMIN ONLY) ===
     @GetMapping("/role/{role}")
     public ResponseEntity<?> getUsersByRole(@PathVariable String role) {
@@ -151,7 +226,6 @@ public class UserController {
         if (authentication == null || authentication.getAuthorities() == null) {
             return false;
         }
-        return authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ADMIN"));
+        return authentication.getAuthorities().contains(RoleAuthorities.ADMIN);
     }
 }
\ No newline at end of file
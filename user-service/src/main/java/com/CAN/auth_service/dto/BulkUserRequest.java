@@ -0,0 +1,27 @@
+package com.CAN.auth_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+public class BulkUserRequest {
+
+    public enum Action { DELETE, DISABLE }
+
+    @NotNull(message = "Action must be specified (DELETE or DISABLE)")
+    private Action action;
+
+    // Soit une liste d'ids, soit un filtre (role / enabled / createdBefore)
+    private List<Long> ids;
+
+    private String role;
+
+    private Boolean enabled;
+
+    private LocalDateTime createdBefore;
+}
@@ -18,4 +18,7 @@ public class UpdateProfileRequest {
     private String city;
 
     private String profilePictureUrl;
+
+    // Version lue lors du GET : obligatoire pour PATCH (verrouillage optimiste)
+    private Long version;
 }
\ No newline at end of file
@@ -30,4 +30,7 @@ public class UpdateUserRequest {
     private String profilePictureUrl;
 
     private Boolean enabled;
+
+    // Version lue lors du GET : obligatoire pour PATCH (verrouillage optimiste)
+    private Long version;
 }
\ No newline at end of file
@@ -17,4 +17,5 @@ public class UserProfileDTO {
     private String city;
     private String profilePictureUrl;
     private boolean enabled;
+    private Long version;
 }
@@ -0,0 +1,21 @@
+package com.CAN.auth_service.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStatsDTO {
+    private long total;
+    private long enabled;
+    private long pendingVerification;
+    private Map<String, Long> byRole;
+    private Map<LocalDate, Long> signupsPerDay;
+    private LocalDateTime reconciledAt; // dernière synchronisation avec la base
+}
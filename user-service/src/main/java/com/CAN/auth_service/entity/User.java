@@ -3,6 +3,8 @@ package com.CAN.auth_service.entity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 
 @Entity
@@ -57,6 +59,16 @@ public class User {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Mis à jour en batch par LoginEventRecorder (hors verrouillage optimiste)
+    @Column(name = "last_login_at")
+    private LocalDateTime lastLoginAt;
+
+    // Verrouillage optimiste : incrémenté à chaque UPDATE
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -1,6 +1,8 @@
 package com.CAN.auth_service.entity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
@@ -16,7 +18,9 @@ public class VerificationToken {
 
     private String token;
 
+    // La suppression d'un user supprime son token côté base (ON DELETE CASCADE)
     @OneToOne
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User user;
 
     private LocalDateTime expiryDate;
@@ -0,0 +1,100 @@
+package com.CAN.auth_service.filter;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cloison de concurrence pour une classe d'endpoints : au plus maxConcurrent requêtes
+ * en cours, au plus maxQueue en attente (chacune au plus maxWaitMs), le reste est rejeté.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, long maxWaitMs) {
+        if (maxConcurrent < 1 || maxQueue < 0 || maxWaitMs < 0) {
+            throw new IllegalArgumentException("Invalid bulkhead settings for " + name);
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    // true : l'appelant doit appeler release() une fois la requête terminée
+    public boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            accepted.increment();
+            return true;
+        }
+        if (maxQueue == 0 || queued.incrementAndGet() > maxQueue) {
+            if (maxQueue > 0) {
+                queued.decrementAndGet();
+            }
+            rejected.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                accepted.increment();
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    // === Métriques de saturation ===
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public double getSaturation() {
+        return (double) getActive() / maxConcurrent;
+    }
+}
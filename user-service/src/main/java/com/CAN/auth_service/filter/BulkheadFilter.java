@@ -0,0 +1,72 @@
+package com.CAN.auth_service.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Répartit les requêtes entre trois cloisons, avant la chaîne Spring Security :
+ * validation du token (appelée par la gateway à chaque requête), login/register
+ * (bcrypt + base) et le reste. Une cloison pleine répond tout de suite avec son
+ * propre statut, sans consommer de temps CPU ni de connexion base.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    static final String VALIDATE_PATH = "/api/CAN/auth/validate";
+    static final String LOGIN_PATH = "/api/CAN/auth/login";
+    static final String REGISTER_PATH = "/api/CAN/auth/register";
+
+    public record Lane(Bulkhead bulkhead, int rejectionStatus, int retryAfterSeconds, String rejectionBody) {
+    }
+
+    private final Lane validation;
+    private final Lane credentials;
+    private final Lane general;
+
+    public BulkheadFilter(Lane validation, Lane credentials, Lane general) {
+        this.validation = validation;
+        this.credentials = credentials;
+        this.general = general;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        // Chemin relatif au context path, comme les matchers de SecurityConfig
+        Lane lane = laneFor(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!lane.bulkhead().tryAcquire()) {
+            reject(lane, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            lane.bulkhead().release();
+        }
+    }
+
+    Lane laneFor(String uri) {
+        if (VALIDATE_PATH.equals(uri)) {
+            return validation;
+        }
+        if (LOGIN_PATH.equals(uri) || REGISTER_PATH.equals(uri)) {
+            return credentials;
+        }
+        return general;
+    }
+
+    private static void reject(Lane lane, HttpServletResponse response) throws IOException {
+        response.setStatus(lane.rejectionStatus());
+        response.setHeader("Retry-After", String.valueOf(lane.retryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(lane.rejectionBody());
+    }
+}
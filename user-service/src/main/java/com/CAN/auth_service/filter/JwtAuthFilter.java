@@ -8,20 +8,48 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Collections;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    // Routes permitAll de SecurityConfig : "/x/**" couvre "/x" et "/x/...", "/error" est exact
+    private static final String[] PUBLIC_TREES = {"/api/CAN/auth", "/swagger-ui", "/v3/api-docs", "/actuator/health"};
+    private static final String PUBLIC_PATH_ERROR = "/error";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ALREADY_FILTERED = JwtAuthFilter.class.getName() + ALREADY_FILTERED_SUFFIX;
+
     private final JwtService jwtService;
 
+    // Aucune authentification requise : pas de parsing JWT sur ces routes
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        for (String tree : PUBLIC_TREES) {
+            if (uri.startsWith(tree, offset)) {
+                int end = offset + tree.length();
+                if (uri.length() == end || uri.charAt(end) == '/') {
+                    return true;
+                }
+            }
+        }
+        return uri.length() == offset + PUBLIC_PATH_ERROR.length() && uri.startsWith(PUBLIC_PATH_ERROR, offset);
+    }
+
+    // Nom constant : OncePerRequestFilter le recalcule (concaténation) à chaque requête sinon
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return ALREADY_FILTERED;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -29,23 +57,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
+        SecurityContext context = SecurityContextHolder.getContext();
 
-        String jwt = null;
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
-        }
-
-        if (jwt != null && jwtService.isTokenValid(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
-            Claims claims = jwtService.extractClaims(jwt);
-            String email = claims.getSubject();
-            String role = claims.get("role", String.class);
-
-            UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(email, null,
-                            Collections.singletonList(() -> role));
-
-            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authToken);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX) && context.getAuthentication() == null) {
+            // Un seul parsing du token (vérification + claims)
+            Claims claims = jwtService.extractValidClaims(authHeader.substring(BEARER_PREFIX.length()));
+            if (claims != null) {
+                context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+                        claims.getSubject(), null, RoleAuthorities.of(claims.get("role", String.class))));
+            }
         }
 
         filterChain.doFilter(request, response);
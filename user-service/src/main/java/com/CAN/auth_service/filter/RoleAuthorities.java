@@ -0,0 +1,43 @@
+package com.CAN.auth_service.filter;
+
+import com.CAN.auth_service.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Autorités partagées, une par Role (nom simple, sans préfixe ROLE_) : le filtre JWT
+ * ne crée plus d'objet GrantedAuthority par requête.
+ */
+public final class RoleAuthorities {
+
+    private static final Role[] ROLES = Role.values();
+    private static final List<List<GrantedAuthority>> BY_ROLE = Arrays.stream(ROLES)
+            .map(role -> List.<GrantedAuthority>of(new SimpleGrantedAuthority(role.name())))
+            .toList();
+
+    public static final GrantedAuthority ADMIN = of(Role.ADMIN).get(0);
+
+    private RoleAuthorities() {
+    }
+
+    public static List<GrantedAuthority> of(Role role) {
+        return BY_ROLE.get(role.ordinal());
+    }
+
+    // Claim "role" du token : recherche sans allocation, une valeur inconnue garde son propre nom
+    public static List<GrantedAuthority> of(String role) {
+        if (role == null) {
+            return AuthorityUtils.NO_AUTHORITIES;
+        }
+        for (Role candidate : ROLES) {
+            if (candidate.name().equals(role)) {
+                return of(candidate);
+            }
+        }
+        return List.of(new SimpleGrantedAuthority(role));
+    }
+}
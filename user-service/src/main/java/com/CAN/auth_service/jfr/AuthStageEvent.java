@@ -0,0 +1,23 @@
+package com.CAN.auth_service.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base des événements JFR du pipeline d'authentification. Chaque événement porte
+ * l'id de la requête HTTP en cours (posé par JfrRequestFilter) pour regrouper les
+ * étapes d'une même requête. Stack traces désactivées par défaut (coût).
+ */
+@Category({"Auth Service", "Pipeline"})
+@StackTrace(false)
+public abstract class AuthStageEvent extends Event {
+
+    @Label("Request Id")
+    protected long requestId;
+
+    protected AuthStageEvent() {
+        this.requestId = JfrRequestContext.currentRequestId();
+    }
+}
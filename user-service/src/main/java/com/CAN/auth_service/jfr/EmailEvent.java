@@ -0,0 +1,14 @@
+package com.CAN.auth_service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.CAN.auth.Email")
+@Label("Email Send")
+@Description("Envoi SMTP d'un email de vérification")
+public class EmailEvent extends AuthStageEvent {
+
+    @Label("Success")
+    public boolean success;
+}
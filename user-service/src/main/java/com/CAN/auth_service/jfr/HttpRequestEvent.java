@@ -0,0 +1,20 @@
+package com.CAN.auth_service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.CAN.auth.HttpRequest")
+@Label("HTTP Request")
+@Description("Durée totale d'une requête HTTP ; les étapes portent le même Request Id")
+public class HttpRequestEvent extends AuthStageEvent {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI")
+    public String uri;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,30 @@
+package com.CAN.auth_service.jfr;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Id de corrélation des événements JFR pour la requête HTTP traitée par le thread courant.
+ * 0 = hors requête (threads de fond, démarrage).
+ */
+public final class JfrRequestContext {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final ThreadLocal<long[]> CURRENT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private JfrRequestContext() {
+    }
+
+    public static long begin() {
+        long id = SEQUENCE.incrementAndGet();
+        CURRENT.get()[0] = id;
+        return id;
+    }
+
+    public static void end() {
+        CURRENT.get()[0] = 0;
+    }
+
+    public static long currentRequestId() {
+        return CURRENT.get()[0];
+    }
+}
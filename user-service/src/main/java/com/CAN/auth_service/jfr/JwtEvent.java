@@ -0,0 +1,20 @@
+package com.CAN.auth_service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.CAN.auth.Jwt")
+@Label("JWT")
+@Description("Signature ou vérification d'un JWT dans JwtService")
+public class JwtEvent extends AuthStageEvent {
+
+    public static final String SIGN = "sign";
+    public static final String VERIFY = "verify";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Success")
+    public boolean success;
+}
@@ -0,0 +1,17 @@
+package com.CAN.auth_service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.CAN.auth.PasswordEncoder")
+@Label("Password Encoder")
+@Description("Hash (encode) ou vérification (matches) bcrypt d'un mot de passe")
+public class PasswordEncoderEvent extends AuthStageEvent {
+
+    public static final String ENCODE = "encode";
+    public static final String MATCHES = "matches";
+
+    @Label("Operation")
+    public String operation;
+}
@@ -0,0 +1,17 @@
+package com.CAN.auth_service.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.CAN.auth.Repository")
+@Label("Repository Call")
+@Description("Appel d'une méthode de repository Spring Data (requêtes SQL comprises)")
+public class RepositoryEvent extends AuthStageEvent {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+}
@@ -2,11 +2,100 @@ package com.CAN.auth_service.repository;
 
 import com.CAN.auth_service.entity.User;
 import com.CAN.auth_service.entity.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Optional<User> findByRole(Role role);
+    List<User> findAllByRole(Role role);
+
+    // PATCH profil : un seul UPDATE, les paramètres null laissent la colonne inchangée
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE User u SET
+                u.fullName = COALESCE(:fullName, u.fullName),
+                u.phoneNumber = COALESCE(:phoneNumber, u.phoneNumber),
+                u.city = COALESCE(:city, u.city),
+                u.profilePictureUrl = COALESCE(:profilePictureUrl, u.profilePictureUrl),
+                u.updatedAt = :now,
+                u.version = u.version + 1
+            WHERE u.email = :email AND u.version = :version
+            """)
+    int patchProfile(@Param("email") String email,
+                     @Param("version") Long version,
+                     @Param("fullName") String fullName,
+                     @Param("phoneNumber") String phoneNumber,
+                     @Param("city") String city,
+                     @Param("profilePictureUrl") String profilePictureUrl,
+                     @Param("now") LocalDateTime now);
+
+    // PATCH admin : même principe, l'unicité username/email est garantie par les contraintes de la base
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE User u SET
+                u.username = COALESCE(:username, u.username),
+                u.email = COALESCE(:email, u.email),
+                u.role = COALESCE(:role, u.role),
+                u.fullName = COALESCE(:fullName, u.fullName),
+                u.phoneNumber = COALESCE(:phoneNumber, u.phoneNumber),
+                u.city = COALESCE(:city, u.city),
+                u.profilePictureUrl = COALESCE(:profilePictureUrl, u.profilePictureUrl),
+                u.enabled = COALESCE(:enabled, u.enabled),
+                u.updatedAt = :now,
+                u.version = u.version + 1
+            WHERE u.id = :id AND u.version = :version
+            """)
+    int patchUser(@Param("id") Long id,
+                  @Param("version") Long version,
+                  @Param("username") String username,
+                  @Param("email") String email,
+                  @Param("role") Role role,
+                  @Param("fullName") String fullName,
+                  @Param("phoneNumber") String phoneNumber,
+                  @Param("city") String city,
+                  @Param("profilePictureUrl") String profilePictureUrl,
+                  @Param("enabled") Boolean enabled,
+                  @Param("now") LocalDateTime now);
+
+    // Opérations bulk (admin) : pagination par clé sur l'id pour des lots bornés
+    @Query("""
+            SELECT u.id FROM User u
+            WHERE u.id > :afterId
+              AND (:role IS NULL OR u.role = :role)
+              AND (:enabled IS NULL OR u.enabled = :enabled)
+              AND (:createdBefore IS NULL OR u.createdAt < :createdBefore)
+            ORDER BY u.id
+            """)
+    List<Long> findIdsByFilter(@Param("afterId") long afterId,
+                               @Param("role") Role role,
+                               @Param("enabled") Boolean enabled,
+                               @Param("createdBefore") LocalDateTime createdBefore,
+                               Limit limit);
+
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = false, u.updatedAt = :now, u.version = u.version + 1 WHERE u.id IN :ids AND u.enabled = true")
+    int disableByIds(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
+    // Réconciliation des compteurs du dashboard admin
+    @Query("SELECT u.role, u.enabled, COUNT(u) FROM User u GROUP BY u.role, u.enabled")
+    List<Object[]> countByRoleAndEnabled();
+
+    @Query("SELECT CAST(u.createdAt AS LocalDate), COUNT(u) FROM User u WHERE u.createdAt >= :since GROUP BY CAST(u.createdAt AS LocalDate)")
+    List<Object[]> countSignupsPerDaySince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT u.role, u.enabled FROM User u WHERE u.id = :id")
+    List<Object[]> findRoleAndEnabledById(@Param("id") Long id);
 }
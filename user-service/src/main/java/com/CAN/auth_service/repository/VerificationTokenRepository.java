@@ -3,8 +3,18 @@ package com.CAN.auth_service.repository;
 import com.CAN.auth_service.entity.User;
 import com.CAN.auth_service.entity.VerificationToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 
 public interface VerificationTokenRepository extends JpaRepository<VerificationToken, Long> {
     VerificationToken findByToken(String token);
     VerificationToken findByUser(User user);  // ←  méthode utilisable f delete user service
+
+    // Suppression ensembliste des tokens d'un lot de users (un seul DELETE)
+    @Modifying
+    @Query("DELETE FROM VerificationToken t WHERE t.user.id IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
 }
\ No newline at end of file
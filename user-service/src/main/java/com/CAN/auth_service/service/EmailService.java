@@ -1,4 +1,5 @@
 package com.CAN.auth_service.service;
+import com.CAN.auth_service.jfr.EmailEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
@@ -15,6 +16,14 @@ public class EmailService {
         message.setTo(to);
         message.setSubject("Verify your email");
         message.setText("Click the link to verify your email: " + link);
-        mailSender.send(message);
+
+        EmailEvent event = new EmailEvent();
+        event.begin();
+        try {
+            mailSender.send(message);
+            event.success = true;
+        } finally {
+            event.commit();
+        }
     }
 }
@@ -1,4 +1,6 @@
 package com.CAN.auth_service.service;
+import com.CAN.auth_service.jfr.JwtEvent;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.Claims;
@@ -15,26 +17,61 @@ public class JwtService {
 
     private final long expirationMs = 24 * 60 * 60 * 1000; // 24h
 
+    private volatile JwtParser parser; // thread-safe : la clé n'est décodée qu'une fois
+
     public String generateToken(String email, String role) {
-        return Jwts.builder()
-                .setSubject(email)
-                .claim("role", role)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
-                .signWith(SignatureAlgorithm.HS256, secret)
-                .compact();
+        JwtEvent event = new JwtEvent();
+        event.begin();
+        try {
+            String token = Jwts.builder()
+                    .setSubject(email)
+                    .claim("role", role)
+                    .setIssuedAt(new Date())
+                    .setExpiration(new Date(System.currentTimeMillis() + expirationMs))
+                    .signWith(SignatureAlgorithm.HS256, secret)
+                    .compact();
+            event.success = true;
+            return token;
+        } finally {
+            event.operation = JwtEvent.SIGN;
+            event.commit();
+        }
     }
 
     public Claims extractClaims(String token) {
-        return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+        JwtEvent event = new JwtEvent();
+        event.begin();
+        try {
+            Claims claims = parser().parseClaimsJws(token).getBody();
+            event.success = true;
+            return claims;
+        } finally {
+            event.operation = JwtEvent.VERIFY;
+            event.commit();
+        }
     }
 
-    public boolean isTokenValid(String token) {
+    // Vérification et lecture des claims en un seul parsing : null si le token est invalide ou expiré
+    public Claims extractValidClaims(String token) {
         try {
             Claims claims = extractClaims(token);
-            return claims.getExpiration().after(new Date());
+            Date expiration = claims.getExpiration();
+            return expiration != null && expiration.getTime() > System.currentTimeMillis() ? claims : null;
         } catch (Exception e) {
-            return false;
+            return null;
+        }
+    }
+
+    public boolean isTokenValid(String token) {
+        return extractValidClaims(token) != null;
+    }
+
+    private JwtParser parser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parserBuilder().setSigningKey(secret).build();
+            parser = current;
         }
+        return current;
     }
 }
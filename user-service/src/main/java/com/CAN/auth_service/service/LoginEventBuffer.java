@@ -0,0 +1,80 @@
+package com.CAN.auth_service.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer borné sans verrou : plusieurs producteurs (threads HTTP), un seul consommateur
+ * (le writer de LoginEventRecorder). Chaque case porte un numéro de séquence qui indique
+ * si elle est libre pour le producteur ou prête pour le consommateur ; offer() ne bloque
+ * jamais et retourne false quand le buffer est plein.
+ */
+final class LoginEventBuffer {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<LoginEventRecorder.LoginAttempt> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // écrit uniquement par le consommateur
+
+    LoginEventBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        this.capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    boolean offer(LoginEventRecorder.LoginAttempt attempt) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long delta = sequences.get(index) - position;
+            if (delta == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, attempt);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (delta < 0) {
+                return false; // plein : la case n'a pas encore été consommée
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    // Consommateur unique : transfère jusqu'à max événements dans out
+    int drainTo(List<LoginEventRecorder.LoginAttempt> out, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) (head & mask);
+            if (sequences.get(index) != head + 1) {
+                break; // vide, ou producteur encore en cours d'écriture
+            }
+            out.add(slots.get(index));
+            slots.lazySet(index, null);
+            sequences.set(index, head + capacity);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
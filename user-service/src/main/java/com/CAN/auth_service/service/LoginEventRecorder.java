@@ -0,0 +1,220 @@
+package com.CAN.auth_service.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Enregistre les tentatives de login sans ralentir /login : les événements sont poussés
+ * dans un ring buffer borné, puis un thread de fond les écrit par batch JDBC dans
+ * login_events et met à jour users.last_login_at. Buffer plein = événement perdu et compté.
+ * Un échec sur un compte existant est rattaché à son user_id au moment de l'écriture.
+ * Compteurs exposés sur /actuator/metrics/auth.login_events.*.
+ */
+@Slf4j
+@Service
+public class LoginEventRecorder {
+
+    public record LoginAttempt(Long userId, String email, boolean success, LocalDateTime occurredAt) {
+    }
+
+    // Échec de login : user_id résolu par l'index unique sur email, hors du chemin de /login
+    private static final String INSERT_EVENT = """
+            INSERT INTO login_events (user_id, email, success, occurred_at)
+            VALUES (COALESCE(?, (SELECT u.id FROM users u WHERE u.email = ?)), ?, ?, ?)
+            """;
+    private static final int MAX_EMAIL_LENGTH = 100; // login_events.email VARCHAR(100)
+    private static final String UPDATE_LAST_LOGIN =
+            "UPDATE users SET last_login_at = ? WHERE id = ? AND (last_login_at IS NULL OR last_login_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LoginEventBuffer buffer;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public LoginEventRecorder(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.login-events.capacity:8192}") int capacity,
+                              @Value("${auth.login-events.batch-size:256}") int batchSize,
+                              @Value("${auth.login-events.flush-interval-ms:200}") long flushIntervalMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.buffer = new LoginEventBuffer(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        registerMetrics(meterRegistry);
+    }
+
+    // === API appelée par AuthController (ne bloque jamais) ===
+    public void recordSuccess(Long userId, String email) {
+        record(new LoginAttempt(userId, email, true, LocalDateTime.now()));
+    }
+
+    // Email saisi par le client : normalisé comme users.email et borné à la taille de la colonne
+    public void recordFailure(String email) {
+        record(new LoginAttempt(null, normalizeEmail(email), false, LocalDateTime.now()));
+    }
+
+    static String normalizeEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_EMAIL_LENGTH ? normalized.substring(0, MAX_EMAIL_LENGTH) : normalized;
+    }
+
+    private void record(LoginAttempt attempt) {
+        if (buffer.offer(attempt)) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    // === Compteurs pour l'exploitation ===
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("auth.login_events.recorded", this, LoginEventRecorder::getRecordedCount).register(registry);
+        FunctionCounter.builder("auth.login_events.dropped", this, LoginEventRecorder::getDroppedCount).register(registry);
+        FunctionCounter.builder("auth.login_events.written", this, LoginEventRecorder::getWrittenCount).register(registry);
+        FunctionCounter.builder("auth.login_events.failed", this, LoginEventRecorder::getFailedCount).register(registry);
+        Gauge.builder("auth.login_events.pending", this, LoginEventRecorder::getPendingCount).register(registry);
+    }
+
+    // === Thread d'écriture ===
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "login-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drainLoop() {
+        List<LoginAttempt> batch = new ArrayList<>(batchSize);
+        while (running || buffer.size() > 0) {
+            buffer.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(flushIntervalNanos);
+                continue;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    void flush(List<LoginAttempt> batch) {
+        try {
+            write(batch);
+            written.add(batch.size());
+        } catch (DataAccessException e) {
+            // Une ligne invalide fait échouer tout le batch : on rejoue ligne par ligne pour isoler les fautives.
+            // Messages SQL non journalisés : ils contiennent l'email saisi par le client
+            int rejected = 0;
+            for (LoginAttempt attempt : batch) {
+                try {
+                    write(List.of(attempt));
+                    written.increment();
+                } catch (RuntimeException rowError) {
+                    failed.increment();
+                    rejected++;
+                }
+            }
+            log.warn("Dropped {} of {} login events after row-by-row retry ({})",
+                    rejected, batch.size(), e.getClass().getSimpleName());
+        } catch (RuntimeException e) {
+            failed.add(batch.size());
+            log.warn("Could not persist {} login events: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void write(List<LoginAttempt> batch) {
+        // Dernier login réussi par user dans ce lot : un seul UPDATE par user
+        Map<Long, LocalDateTime> lastLogins = new HashMap<>();
+        for (LoginAttempt attempt : batch) {
+            if (attempt.success() && attempt.userId() != null) {
+                lastLogins.merge(attempt.userId(), attempt.occurredAt(),
+                        (current, candidate) -> candidate.isAfter(current) ? candidate : current);
+            }
+        }
+        List<Map.Entry<Long, LocalDateTime>> lastLoginUpdates = new ArrayList<>(lastLogins.entrySet());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_EVENT, batch, batch.size(), (ps, attempt) -> {
+                if (attempt.userId() != null) {
+                    ps.setLong(1, attempt.userId());
+                } else {
+                    ps.setNull(1, Types.BIGINT);
+                }
+                ps.setString(2, attempt.email());
+                ps.setString(3, attempt.email());
+                ps.setBoolean(4, attempt.success());
+                ps.setTimestamp(5, Timestamp.valueOf(attempt.occurredAt()));
+            });
+            if (!lastLoginUpdates.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, lastLoginUpdates, lastLoginUpdates.size(), (ps, entry) -> {
+                    Timestamp at = Timestamp.valueOf(entry.getValue());
+                    ps.setTimestamp(1, at);
+                    ps.setLong(2, entry.getKey());
+                    ps.setTimestamp(3, at);
+                });
+            }
+        });
+    }
+}
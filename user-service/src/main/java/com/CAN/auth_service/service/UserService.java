@@ -1,20 +1,27 @@
 package com.CAN.auth_service.service;
 
+import com.CAN.auth_service.dto.BulkUserRequest;
 import com.CAN.auth_service.dto.UpdateProfileRequest;
 import com.CAN.auth_service.dto.UpdateUserRequest;
 import com.CAN.auth_service.dto.UserProfileDTO;
+import com.CAN.auth_service.dto.UserStatsDTO;
 import com.CAN.auth_service.entity.Role;
 import com.CAN.auth_service.entity.User;
 import com.CAN.auth_service.entity.VerificationToken;
 import com.CAN.auth_service.repository.UserRepository;
 import com.CAN.auth_service.repository.VerificationTokenRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Limit;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,9 +33,15 @@ public class UserService {
     private final UserRepository userRepository;
     private final VerificationTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final UserStatsService userStatsService;
+
+    @Value("${users.bulk.batch-size:500}")
+    private int bulkBatchSize; // taille max d'un lot (une transaction par lot)
 
     // === REGISTER ===
-    public VerificationToken registerUser(String username, String email, String rawPassword, Role role) {
+    public VerificationToken registerUser(String username, String rawEmail, String rawPassword, Role role) {
+        String email = normalizeEmail(rawEmail);
         if (userRepository.findByEmail(email).isPresent()) {
             throw new RuntimeException("Email déjà utilisé");
         }
@@ -42,6 +55,7 @@ public class UserService {
                 .build();
 
         userRepository.save(user);
+        userStatsService.onRegistered(role, false);
 
         String token = UUID.randomUUID().toString();
         VerificationToken verificationToken = VerificationToken.builder()
@@ -55,6 +69,9 @@ public class UserService {
     }
 
     // === EMAIL VERIFICATION ===
+    // Token à usage unique : consommé avec l'activation, un ancien lien ne peut pas
+    // réactiver un compte désactivé ensuite (PUT, PATCH ou bulk)
+    @Transactional
     public boolean verifyToken(String token) {
         VerificationToken verificationToken = tokenRepository.findByToken(token);
         if (verificationToken == null || verificationToken.getExpiryDate().isBefore(LocalDateTime.now())) {
@@ -62,14 +79,17 @@ public class UserService {
         }
 
         User user = verificationToken.getUser();
+        boolean wasEnabled = user.isEnabled();
         user.setEnabled(true);
         userRepository.save(user);
+        tokenRepository.delete(verificationToken);
+        userStatsService.onChanged(user.getRole(), wasEnabled, user.getRole(), true);
         return true;
     }
 
     // === LOGIN ===
     public User authenticate(String email, String rawPassword) {
-        Optional<User> optionalUser = userRepository.findByEmail(email);
+        Optional<User> optionalUser = userRepository.findByEmail(normalizeEmail(email));
         if (optionalUser.isEmpty()) return null;
 
         User user = optionalUser.get();
@@ -80,8 +100,10 @@ public class UserService {
     }
 
     // === GET USER PROFILE ===
+    // Sujet JWT normalisé comme à la connexion : un token émis avant la migration V1_1
+    // peut porter un email en casse mixte et reste valide 24 h
     public UserProfileDTO getUserProfile(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByEmail(normalizeEmail(email))
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return convertToDTO(user);
     }
@@ -89,7 +111,7 @@ public class UserService {
     // === UPDATE USER PROFILE ===
     @Transactional
     public UserProfileDTO updateUserProfile(String email, UpdateProfileRequest request) {
-        User user = userRepository.findByEmail(email)
+        User user = userRepository.findByEmail(normalizeEmail(email))
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         if (request.getFullName() != null) {
@@ -109,6 +131,31 @@ public class UserService {
         return convertToDTO(user);
     }
 
+    // === PATCH USER PROFILE ===
+    // Un seul UPDATE ... WHERE email = ? AND version = ? : pas de lecture préalable
+    @Transactional
+    public UserProfileDTO patchUserProfile(String rawEmail, UpdateProfileRequest request) {
+        requireVersion(request.getVersion());
+        String email = normalizeEmail(rawEmail);
+
+        int updated = userRepository.patchProfile(
+                email,
+                request.getVersion(),
+                request.getFullName(),
+                request.getPhoneNumber(),
+                request.getCity(),
+                request.getProfilePictureUrl(),
+                LocalDateTime.now()
+        );
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        if (updated == 0) {
+            throw staleVersion(user);
+        }
+        return convertToDTO(user);
+    }
+
     // === GET ALL USERS (ADMIN) ===
     public List<UserProfileDTO> getAllUsers() {
         return userRepository.findAll().stream()
@@ -128,6 +175,8 @@ public class UserService {
     public UserProfileDTO updateUser(Long id, UpdateUserRequest request) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        Role oldRole = user.getRole();
+        boolean oldEnabled = user.isEnabled();
 
         if (request.getUsername() != null && !request.getUsername().equals(user.getUsername())) {
             if (userRepository.findByEmail(request.getUsername()).isPresent()) {
@@ -136,11 +185,12 @@ public class UserService {
             user.setUsername(request.getUsername());
         }
 
-        if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
-            if (userRepository.findByEmail(request.getEmail()).isPresent()) {
+        String email = normalizeEmail(request.getEmail());
+        if (email != null && !email.equals(user.getEmail())) {
+            if (userRepository.findByEmail(email).isPresent()) {
                 throw new RuntimeException("Email already in use");
             }
-            user.setEmail(request.getEmail());
+            user.setEmail(email);
         }
 
         if (request.getRole() != null) {
@@ -169,37 +219,153 @@ public class UserService {
         }
 
         userRepository.save(user);
+        userStatsService.onChanged(oldRole, oldEnabled, user.getRole(), user.isEnabled());
+        return convertToDTO(user);
+    }
+
+    // === PATCH USER (ADMIN) ===
+    // Un seul UPDATE ... WHERE id = ? AND version = ? ; un username/email déjà pris
+    // remonte de la contrainte unique sous forme de DataIntegrityViolationException
+    @Transactional
+    public UserProfileDTO patchUser(Long id, UpdateUserRequest request) {
+        requireVersion(request.getVersion());
+
+        Role role = null;
+        if (request.getRole() != null) {
+            try {
+                role = Role.valueOf(request.getRole().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid role");
+            }
+        }
+
+        int updated = userRepository.patchUser(
+                id,
+                request.getVersion(),
+                request.getUsername(),
+                normalizeEmail(request.getEmail()),
+                role,
+                request.getFullName(),
+                request.getPhoneNumber(),
+                request.getCity(),
+                request.getProfilePictureUrl(),
+                request.getEnabled(),
+                LocalDateTime.now()
+        );
+
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + id));
+        if (updated == 0) {
+            throw staleVersion(user);
+        }
+        if (role != null || request.getEnabled() != null) {
+            // État précédent inconnu (UPDATE sans lecture) : les compteurs seront réconciliés
+            userStatsService.markStale();
+        }
         return convertToDTO(user);
     }
 
     // === DELETE USER (ADMIN) ===
+    // Lecture du seul (role, enabled) pour les compteurs, puis deux DELETE ensemblistes
     @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
+        List<Object[]> roleAndEnabled = userRepository.findRoleAndEnabledById(id);
+        if (roleAndEnabled.isEmpty()) {
+            throw new RuntimeException("User not found with id: " + id);
+        }
+
+        List<Long> ids = List.of(id);
+        tokenRepository.deleteByUserIds(ids);
+        if (userRepository.deleteByIds(ids) == 0) {
             throw new RuntimeException("User not found with id: " + id);
         }
+        Object[] row = roleAndEnabled.get(0);
+        userStatsService.onDeleted((Role) row[0], (Boolean) row[1]);
+    }
 
-        // on Supprime d'abord le token de vérification associé(kayna relation one to one entre les 2)
-        User user = userRepository.findById(id).get();
-        VerificationToken token = tokenRepository.findByUser(user);
-        if (token != null) {
-            tokenRepository.delete(token);
+    // === BULK DELETE / DISABLE (ADMIN) ===
+    // Par liste d'ids ou par filtre ; traité en lots bornés, une transaction par lot
+    public int bulkUpdateUsers(BulkUserRequest request) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            List<Long> ids = request.getIds().stream().distinct().sorted().toList();
+            int affected = 0;
+            for (int from = 0; from < ids.size(); from += bulkBatchSize) {
+                List<Long> batch = ids.subList(from, Math.min(from + bulkBatchSize, ids.size()));
+                affected += applyBulkAction(request.getAction(), batch);
+            }
+            return affected;
         }
 
-        // Ensuite on supprime user
-        userRepository.deleteById(id);
+        if (request.getRole() == null && request.getEnabled() == null && request.getCreatedBefore() == null) {
+            throw new IllegalArgumentException("ids or at least one filter (role, enabled, createdBefore) is required");
+        }
+        Role role = null;
+        if (request.getRole() != null) {
+            try {
+                role = Role.valueOf(request.getRole().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid role");
+            }
+        }
+
+        int affected = 0;
+        long afterId = 0;
+        while (true) {
+            List<Long> batch = userRepository.findIdsByFilter(
+                    afterId, role, request.getEnabled(), request.getCreatedBefore(), Limit.of(bulkBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            affected += applyBulkAction(request.getAction(), batch);
+            afterId = batch.get(batch.size() - 1);
+        }
+        return affected;
+    }
+
+    // === USER STATS (ADMIN) ===
+    public UserStatsDTO getUserStats() {
+        return userStatsService.getStats();
+    }
+
+    private int applyBulkAction(BulkUserRequest.Action action, List<Long> ids) {
+        userStatsService.markStale();
+        Integer affected = transactionTemplate.execute(status -> switch (action) {
+            case DELETE -> {
+                tokenRepository.deleteByUserIds(ids);
+                yield userRepository.deleteByIds(ids);
+            }
+            case DISABLE -> userRepository.disableByIds(ids, LocalDateTime.now());
+        });
+        return affected == null ? 0 : affected;
     }
 
     // === GET USERS BY ROLE ===
+    // Filtrage côté base (index ix_users_role_enabled)
     public List<UserProfileDTO> getUsersByRole(Role role) {
-        return userRepository.findAll().stream()
-                .filter(user -> user.getRole() == role)
+        return userRepository.findAllByRole(role).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // === HELPER: emails stockés en minuscules (index unique uk_users_email) ===
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // === HELPERS: verrouillage optimiste ===
+    private void requireVersion(Long version) {
+        if (version == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+    }
+
+    private OptimisticLockingFailureException staleVersion(User current) {
+        return new OptimisticLockingFailureException(
+                "User " + current.getId() + " was modified concurrently (current version: " + current.getVersion() + ")");
+    }
+
     // === HELPER: Convert User to DTO ===
-    private UserProfileDTO convertToDTO(User user) {
+    UserProfileDTO convertToDTO(User user) {
         return UserProfileDTO.builder()
                 .id(user.getId())
                 .username(user.getUsername())
@@ -210,6 +376,7 @@ public class UserService {
                 .city(user.getCity())
                 .profilePictureUrl(user.getProfilePictureUrl())
                 .enabled(user.isEnabled())
+                .version(user.getVersion())
                 .build();
     }
 }
\ No newline at end of file
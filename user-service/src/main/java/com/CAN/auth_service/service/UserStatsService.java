@@ -0,0 +1,194 @@
+package com.CAN.auth_service.service;
+
+import com.CAN.auth_service.dto.UserStatsDTO;
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compteurs du dashboard admin, tenus en mémoire par UserService (register, verify,
+ * update, delete) et servis sans requête SQL. Appelés dans une transaction, les deltas
+ * ne sont appliqués qu'au commit. Une réconciliation périodique (un GROUP BY)
+ * corrige la dérive, et est avancée quand une opération ne connaît pas l'état précédent
+ * des lignes modifiées (PATCH, bulk).
+ */
+@Slf4j
+@Service
+public class UserStatsService {
+
+    private static final Role[] ROLES = Role.values();
+
+    private final UserRepository userRepository;
+    private final int signupDays;
+    private final long reconcileIntervalMs;
+
+    // Une case par (role, enabled) : index = role.ordinal() * 2 + (enabled ? 1 : 0)
+    private final AtomicLongArray counts = new AtomicLongArray(ROLES.length * 2);
+    private final Map<LocalDate, AtomicLong> signupsPerDay = new ConcurrentHashMap<>();
+
+    private volatile boolean stale = true;
+    private volatile long lastReconcileMillis;
+    private volatile LocalDateTime reconciledAt;
+
+    public UserStatsService(UserRepository userRepository,
+                            @Value("${users.stats.signup-days:30}") int signupDays,
+                            @Value("${users.stats.reconcile-interval-ms:300000}") long reconcileIntervalMs) {
+        this.userRepository = userRepository;
+        this.signupDays = signupDays;
+        this.reconcileIntervalMs = reconcileIntervalMs;
+    }
+
+    // === Mises à jour incrémentales ===
+    public void onRegistered(Role role, boolean enabled) {
+        afterCommit(() -> {
+            increment(role, enabled, 1);
+            signupsPerDay.computeIfAbsent(LocalDate.now(), day -> new AtomicLong()).incrementAndGet();
+        });
+    }
+
+    public void onChanged(Role oldRole, boolean oldEnabled, Role newRole, boolean newEnabled) {
+        if (oldRole != newRole || oldEnabled != newEnabled) {
+            afterCommit(() -> {
+                increment(oldRole, oldEnabled, -1);
+                increment(newRole, newEnabled, 1);
+            });
+        }
+    }
+
+    public void onDeleted(Role role, boolean enabled) {
+        afterCommit(() -> increment(role, enabled, -1));
+    }
+
+    // L'appelant a modifié des lignes sans connaître leur état précédent
+    public void markStale() {
+        stale = true;
+    }
+
+    // Le flush au commit peut encore échouer (@Version, contrainte unique) : un delta appliqué
+    // avant resterait fantôme après le rollback, jusqu'à la réconciliation périodique
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private void increment(Role role, boolean enabled, long delta) {
+        if (role != null) {
+            counts.addAndGet(index(role, enabled), delta);
+        }
+    }
+
+    private static int index(Role role, boolean enabled) {
+        return role.ordinal() * 2 + (enabled ? 1 : 0);
+    }
+
+    // === Lecture en temps constant ===
+    public UserStatsDTO getStats() {
+        long enabled = 0;
+        long pending = 0;
+        Map<String, Long> byRole = new LinkedHashMap<>();
+        for (Role role : ROLES) {
+            long roleEnabled = counts.get(index(role, true));
+            long rolePending = counts.get(index(role, false));
+            byRole.put(role.name(), roleEnabled + rolePending);
+            enabled += roleEnabled;
+            pending += rolePending;
+        }
+
+        LocalDate today = LocalDate.now();
+        Map<LocalDate, Long> signups = new TreeMap<>();
+        for (int i = signupDays - 1; i >= 0; i--) {
+            LocalDate day = today.minusDays(i);
+            AtomicLong count = signupsPerDay.get(day);
+            signups.put(day, count == null ? 0 : count.get());
+        }
+
+        return UserStatsDTO.builder()
+                .total(enabled + pending)
+                .enabled(enabled)
+                .pendingVerification(pending)
+                .byRole(byRole)
+                .signupsPerDay(signups)
+                .reconciledAt(reconciledAt)
+                .build();
+    }
+
+    // === Réconciliation avec la base ===
+    @Scheduled(fixedDelayString = "${users.stats.check-interval-ms:5000}")
+    public void reconcileIfNeeded() {
+        if (stale || System.currentTimeMillis() - lastReconcileMillis >= reconcileIntervalMs) {
+            reconcile();
+        }
+    }
+
+    // Applique l'écart (base - mémoire) au lieu d'écraser : un incrément arrivé pendant la requête
+    // est conservé. Fenêtre résiduelle : une écriture validée entre la photo des compteurs et le
+    // SELECT est comptée deux fois, jusqu'à la réconciliation suivante.
+    public void reconcile() {
+        stale = false;
+        try {
+            long[] before = new long[counts.length()];
+            for (int i = 0; i < before.length; i++) {
+                before[i] = counts.get(i);
+            }
+            long[] fresh = new long[counts.length()];
+            for (Object[] row : userRepository.countByRoleAndEnabled()) {
+                if (row[0] instanceof Role role) {
+                    fresh[index(role, (Boolean) row[1])] += (Long) row[2];
+                }
+            }
+            for (int i = 0; i < fresh.length; i++) {
+                counts.addAndGet(i, fresh[i] - before[i]);
+            }
+
+            LocalDate since = LocalDate.now().minusDays(signupDays - 1L);
+            Map<LocalDate, Long> signupsBefore = new HashMap<>();
+            signupsPerDay.forEach((day, count) -> signupsBefore.put(day, count.get()));
+            Map<LocalDate, Long> freshSignups = new HashMap<>();
+            for (Object[] row : userRepository.countSignupsPerDaySince(since.atStartOfDay())) {
+                freshSignups.put((LocalDate) row[0], (Long) row[1]);
+            }
+            // Le résultat fait foi : un jour absent (inscriptions toutes supprimées) retombe à zéro
+            Set<LocalDate> days = new HashSet<>(signupsBefore.keySet());
+            days.addAll(freshSignups.keySet());
+            for (LocalDate day : days) {
+                long delta = freshSignups.getOrDefault(day, 0L) - signupsBefore.getOrDefault(day, 0L);
+                if (delta != 0 && !day.isBefore(since)) {
+                    signupsPerDay.computeIfAbsent(day, d -> new AtomicLong()).addAndGet(delta);
+                }
+            }
+            signupsPerDay.keySet().removeIf(day -> day.isBefore(since));
+
+            lastReconcileMillis = System.currentTimeMillis();
+            reconciledAt = LocalDateTime.now();
+        } catch (RuntimeException e) {
+            stale = true;
+            log.warn("User stats reconciliation failed: {}", e.getMessage());
+        }
+    }
+}
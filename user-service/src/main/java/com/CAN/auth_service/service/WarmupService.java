@@ -0,0 +1,170 @@
+package com.CAN.auth_service.service;
+
+import com.CAN.auth_service.dto.UserProfileDTO;
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Chauffe le JIT avant d'accepter du trafic : bcrypt, signature / vérification JWT,
+ * lecture de profil (plan Hibernate + conversion DTO) et sérialisation Jackson, sur des
+ * données synthétiques en mémoire. L'instance s'enregistre dans Eureka en STARTING
+ * (eureka.instance.initial-status) et ne passe UP qu'à la fin de la chauffe ou quand
+ * le budget de temps est épuisé.
+ */
+@Slf4j
+@Service
+public class WarmupService {
+
+    // Adresse réservée (RFC 2606) : aucune ligne réelle ne peut correspondre
+    private static final String WARMUP_EMAIL = "warmup@auth-service.invalid";
+    private static final String WARMUP_PASSWORD = "warmup-password";
+
+    private final JwtService jwtService;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    @Value("${auth.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.warmup.time-budget-ms:45000}")
+    private long timeBudgetMs;
+
+    @Value("${auth.warmup.iterations:10000}")
+    private int iterations; // JWT, conversion DTO et Jackson : appels peu coûteux
+
+    @Value("${auth.warmup.bcrypt-iterations:20}")
+    private int bcryptIterations; // bcrypt est volontairement lent : peu d'itérations suffisent
+
+    @Value("${auth.warmup.repository-iterations:200}")
+    private int repositoryIterations; // requêtes réelles (résultat vide) sur la base
+
+    private volatile boolean completed;
+
+    public WarmupService(JwtService jwtService,
+                         PasswordEncoder passwordEncoder,
+                         UserRepository userRepository,
+                         UserService userService,
+                         ObjectMapper objectMapper,
+                         ObjectProvider<ApplicationInfoManager> applicationInfoManager) {
+        this.jwtService = jwtService;
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.objectMapper = objectMapper;
+        this.applicationInfoManager = applicationInfoManager;
+    }
+
+    // Thread dédié : le démarrage n'attend pas la chauffe, seul le statut Eureka la reflète
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::warmUp, "jit-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void warmUp() {
+        try {
+            if (enabled) {
+                runWorkloads(System.nanoTime() + timeBudgetMs * 1_000_000L);
+            }
+        } catch (RuntimeException e) {
+            log.warn("JIT warm-up aborted: {}", e.getMessage());
+        } finally {
+            completed = true;
+            markUp();
+        }
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    // === Charges synthétiques ===
+    private void runWorkloads(long deadline) {
+        long start = System.nanoTime();
+        User user = syntheticUser();
+        // bcrypt en premier : c'est le coût dominant d'un login, un encode + matches est
+        // garanti même si le budget est épuisé, les itérations suivantes dépendent du budget
+        String hash = passwordEncoder.encode(WARMUP_PASSWORD);
+        passwordEncoder.matches(WARMUP_PASSWORD, hash);
+        int hashes = 1;
+        for (; hashes < bcryptIterations && System.nanoTime() < deadline; hashes++) {
+            passwordEncoder.matches(WARMUP_PASSWORD, hash);
+        }
+
+        int tokens = 0;
+        for (; tokens < iterations && System.nanoTime() < deadline; tokens++) {
+            Role role = Role.values()[tokens % Role.values().length];
+            String token = jwtService.generateToken(WARMUP_EMAIL, role.name());
+            jwtService.isTokenValid(token);
+            jwtService.extractClaims(token).get("role", String.class);
+        }
+
+        int profiles = 0;
+        for (; profiles < iterations && System.nanoTime() < deadline; profiles++) {
+            UserProfileDTO dto = userService.convertToDTO(user);
+            serialize(dto);
+            serialize(List.of(dto));
+            serialize(Map.of("error", "warmup"));
+        }
+
+        int queries = 0;
+        for (; queries < repositoryIterations && System.nanoTime() < deadline; queries++) {
+            userRepository.findByEmail(WARMUP_EMAIL);
+        }
+
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000L;
+        boolean exhausted = System.nanoTime() >= deadline;
+        log.info("JIT warm-up {} in {} ms: {} bcrypt, {} jwt, {} profiles, {} queries",
+                exhausted ? "stopped by time budget" : "completed", elapsedMs, hashes, tokens, profiles, queries);
+    }
+
+    private void serialize(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new RuntimeException("Serialization failed during warm-up", e);
+        }
+    }
+
+    private static User syntheticUser() {
+        return User.builder()
+                .id(0L)
+                .username("warmup")
+                .email(WARMUP_EMAIL)
+                .role(Role.VISITOR)
+                .fullName("Warm Up")
+                .phoneNumber("+000000000")
+                .city("Nowhere")
+                .enabled(true)
+                .version(0L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    // === Enregistrement Eureka ===
+    private void markUp() {
+        ApplicationInfoManager manager = applicationInfoManager.getIfAvailable();
+        if (manager != null) {
+            manager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        }
+    }
+}
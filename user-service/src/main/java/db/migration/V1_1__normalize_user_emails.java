@@ -0,0 +1,58 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emails normalisés en minuscules (UserService) : l'index unique uk_users_email sert
+ * findByEmail et garantit l'unicité sans distinction de casse.
+ * <p>
+ * Une base créée avant la normalisation peut contenir "Alice@x.com" et "alice@x.com" :
+ * le passage en minuscules violerait uk_users_email. Ces doublons sont détectés avant
+ * toute écriture et la migration échoue avec la liste des comptes à fusionner à la main.
+ */
+public class V1_1__normalize_user_emails extends BaseJavaMigration {
+
+    static final int MAX_REPORTED_DUPLICATES = 20;
+
+    private static final String FIND_CASE_INSENSITIVE_DUPLICATES =
+            "SELECT LOWER(email), COUNT(*) FROM users GROUP BY LOWER(email) HAVING COUNT(*) > 1 ORDER BY LOWER(email)";
+    private static final String LOWERCASE_EMAILS =
+            "UPDATE users SET email = LOWER(email) WHERE email <> LOWER(email)";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        List<String> duplicates = findDuplicates(connection);
+        if (!duplicates.isEmpty()) {
+            boolean truncated = duplicates.size() > MAX_REPORTED_DUPLICATES;
+            List<String> reported = truncated ? duplicates.subList(0, MAX_REPORTED_DUPLICATES) : duplicates;
+            throw new FlywayException("Cannot normalize users.email to lower case: "
+                    + reported.size() + (truncated ? "+" : "") + " email(s) differ only by case " + reported
+                    + ". Merge or rename these accounts, then re-run the migration.");
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(LOWERCASE_EMAILS);
+        }
+    }
+
+    // Une entrée "email (n comptes)" par groupe en conflit ; lecture arrêtée au-delà du seuil affiché
+    private static List<String> findDuplicates(Connection connection) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(FIND_CASE_INSENSITIVE_DUPLICATES)) {
+            while (rs.next() && duplicates.size() <= MAX_REPORTED_DUPLICATES) {
+                duplicates.add(rs.getString(1) + " (" + rs.getLong(2) + " accounts)");
+            }
+        }
+        return duplicates;
+    }
+}
@@ -0,0 +1,42 @@
+-- Schéma de référence, identique à celui que générait spring.jpa.hibernate.ddl-auto=update.
+-- IF NOT EXISTS : sur une base déjà créée par Hibernate (baseline-on-migrate), ce script
+-- ne fait qu'ajouter les colonnes récentes manquantes.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username            VARCHAR(50)  NOT NULL,
+    email               VARCHAR(100) NOT NULL,
+    password            VARCHAR(120) NOT NULL,
+    enabled             BOOLEAN      NOT NULL,
+    role                VARCHAR(255) CHECK (role IN ('ADMIN', 'PROPOSER', 'VISITOR')),
+    full_name           VARCHAR(100),
+    phone_number        VARCHAR(20),
+    city                VARCHAR(100),
+    profile_picture_url VARCHAR(255),
+    created_at          TIMESTAMP(6),
+    updated_at          TIMESTAMP(6),
+    version             BIGINT DEFAULT 0 NOT NULL,
+    last_login_at       TIMESTAMP(6),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS last_login_at TIMESTAMP(6);
+
+CREATE TABLE IF NOT EXISTS verification_token (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    token       VARCHAR(255),
+    expiry_date TIMESTAMP(6),
+    user_id     BIGINT,
+    CONSTRAINT uk_verification_token_user_id UNIQUE (user_id),
+    CONSTRAINT fk_verification_token_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS login_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT,
+    email       VARCHAR(100),
+    success     BOOLEAN      NOT NULL,
+    occurred_at TIMESTAMP(6) NOT NULL
+);
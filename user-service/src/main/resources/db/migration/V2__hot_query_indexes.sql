@@ -0,0 +1,20 @@
+-- Index dimensionnés pour les requêtes chaudes (vérifiés par SchemaIndexPlanTest).
+
+-- Emails déjà normalisés en minuscules par V1_1 (doublons de casse refusés) : l'index
+-- unique uk_users_email sert findByEmail sans index fonctionnel supplémentaire.
+
+-- Admin : getUsersByRole, filtres bulk role/enabled, comptage GROUP BY role, enabled
+CREATE INDEX IF NOT EXISTS ix_users_role_enabled ON users (role, enabled);
+
+-- Inscriptions par jour, filtre bulk createdBefore
+CREATE INDEX IF NOT EXISTS ix_users_created_at ON users (created_at);
+
+-- verifyToken : recherche par token
+CREATE UNIQUE INDEX IF NOT EXISTS ux_verification_token_token ON verification_token (token);
+
+-- Purge des tokens expirés
+CREATE INDEX IF NOT EXISTS ix_verification_token_expiry_date ON verification_token (expiry_date);
+
+-- Historique des logins par user et par email (analyse d'abus)
+CREATE INDEX IF NOT EXISTS ix_login_events_user_id_occurred_at ON login_events (user_id, occurred_at);
+CREATE INDEX IF NOT EXISTS ix_login_events_email_occurred_at ON login_events (email, occurred_at);
@@ -0,0 +1,252 @@
+package com.CAN.auth_service.benchmark;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.service.UserService;
+import com.CAN.auth_service.support.SyntheticUserGenerator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Mesure latence et mémoire des opérations de UserService quand la table users grossit
+ * (10k, 100k, 1M lignes par défaut), sur une base H2 dédiée remplie par SyntheticUserGenerator.
+ * Exclu du build normal : {@code mvn test -Pbenchmark [-Dbenchmark.sizes=100000,1000000,10000000]
+ * [-Dbenchmark.heap=8g]}. Résultats : console + target/benchmark/user-service-scale.csv.
+ *
+ * Une opération est signalée "CLIFF" quand sa latence médiane croît plus vite que les données.
+ * Chaque opération est chauffée jusqu'au régime établi avant chaque mesure (au moins
+ * {@code benchmark.warmup-ms}, 5 s par défaut) : sans cela la première taille mesure
+ * l'interpréteur et le JIT, pas le volume de données.
+ * Le profil Maven désactive l'agent JaCoCo ; les logs DEBUG de application.properties sont coupés.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+        "users.stats.check-interval-ms=3600000",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.web=WARN"
+})
+@ActiveProfiles("test")
+class UserServiceScaleBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final Path REPORT = Path.of("target", "benchmark", "user-service-scale.csv");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private static SyntheticUserGenerator generator;
+    private static final long WARMUP_ROUND_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int WARMUP_STABLE_ROUNDS = 4;
+    private static final double WARMUP_TOLERANCE = 0.05;
+    private static final long MAX_WARMUP_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static long warmupNanos;
+
+    record Result(long rows, String operation, int samples, double p50Micros, double p99Micros,
+                  double maxMicros, long allocatedBytesPerOp, long retainedBytes) {
+    }
+
+    @Test
+    void userServiceOperations_AtGrowingDatasetSizes() throws Exception {
+        long[] sizes = Arrays.stream(System.getProperty("benchmark.sizes", "10000,100000,1000000").split(","))
+                .mapToLong(size -> Long.parseLong(size.trim()))
+                .sorted()
+                .toArray();
+        long allUsersMaxRows = Long.getLong("benchmark.all-users-max-rows", 1_000_000L);
+        warmupNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("benchmark.warmup-ms", 5_000L));
+        generator = new SyntheticUserGenerator(jdbcTemplate, 42L);
+
+        List<Result> results = new ArrayList<>();
+        long generated = 0;
+        Set<Long> deleted = new HashSet<>();
+        for (long size : sizes) {
+            long start = System.nanoTime();
+            generator.generate(generated, size - generated);
+            System.out.printf("Generated %,d -> %,d users in %,d ms%n",
+                    generated, size, (System.nanoTime() - start) / 1_000_000L);
+            generated = size;
+
+            long rows = size - deleted.size();
+            assertEquals(rows, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class));
+            SplittableRandom random = new SplittableRandom(size);
+
+            long population = generated;
+            Callable<?> profile = () -> userService.getUserProfile(SyntheticUserGenerator.emailOf(
+                    randomLiveIndex(random, population, deleted)));
+            results.add(measure(rows, "getUserProfile", 500, profile, profile));
+            Callable<?> admins = () -> userService.getUsersByRole(Role.ADMIN);
+            results.add(measure(rows, "getUsersByRole(ADMIN)", 30, admins, admins));
+            Callable<?> proposers = () -> userService.getUsersByRole(Role.PROPOSER);
+            results.add(measure(rows, "getUsersByRole(PROPOSER)", 5, proposers, proposers));
+            if (rows <= allUsersMaxRows) {
+                Callable<?> allUsers = () -> userService.getAllUsers();
+                results.add(measure(rows, "getAllUsers", 3, allUsers, allUsers));
+            }
+
+            // Comptes non vérifiés : la suppression inclut leur token de vérification
+            List<Map<String, Object>> victims = jdbcTemplate.queryForList(
+                    "SELECT id, username FROM users WHERE enabled = FALSE ORDER BY id DESC LIMIT 50");
+            int[] next = {0};
+            // Au moins un appel mesuré + 1 appel pour la mémoire retenue
+            int deleteSamples = victims.size() - 1;
+            if (deleteSamples < 1) {
+                System.out.printf("Skipping deleteUser at %,d rows: only %d unverified users%n", rows, victims.size());
+            } else {
+                // Chauffe sur le premier compte, annulée à chaque appel : les comptes mesurés restent intacts
+                long warmupVictim = ((Number) victims.get(0).get("id")).longValue();
+                Callable<?> rolledBackDelete = () -> transactionTemplate.execute(status -> {
+                    userService.deleteUser(warmupVictim);
+                    status.setRollbackOnly();
+                    return null;
+                });
+                results.add(measure(rows, "deleteUser", deleteSamples, rolledBackDelete, () -> {
+                    Map<String, Object> victim = victims.get(next[0]++);
+                    userService.deleteUser(((Number) victim.get("id")).longValue());
+                    deleted.add(Long.parseLong(((String) victim.get("username")).substring("synthetic".length())));
+                    return null;
+                }));
+            }
+        }
+
+        report(results);
+    }
+
+    @AfterAll
+    static void cleanUp() {
+        if (generator != null) {
+            generator.purge();
+        }
+    }
+
+    private static long randomLiveIndex(SplittableRandom random, long population, Set<Long> deleted) {
+        long index;
+        do {
+            index = random.nextLong(population);
+        } while (deleted.contains(index));
+        return index;
+    }
+
+    // === Mesure ===
+    private static Result measure(long rows, String operation, int samples, Callable<?> warmupAction,
+                                  Callable<?> action) throws Exception {
+        long warmupStart = System.nanoTime();
+        double steadyMicros = warmUp(warmupAction);
+        System.out.printf("Warmed %s at %,d rows in %,d ms (round median %.1f us)%n", operation, rows,
+                (System.nanoTime() - warmupStart) / 1_000_000L, steadyMicros);
+
+        long[] nanos = new long[samples];
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            action.call();
+            nanos[i] = System.nanoTime() - start;
+        }
+        long allocatedPerOp = (THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore) / samples;
+
+        // Mémoire retenue par un résultat encore référencé (ex. liste d'entités + DTO)
+        System.gc();
+        long heapBefore = MEMORY.getHeapMemoryUsage().getUsed();
+        Object result = action.call();
+        System.gc();
+        long retained = Math.max(0, MEMORY.getHeapMemoryUsage().getUsed() - heapBefore);
+        Reference.reachabilityFence(result);
+
+        Arrays.sort(nanos);
+        return new Result(rows, operation, samples,
+                nanos[samples / 2] / 1_000.0,
+                nanos[Math.min(samples - 1, (int) Math.ceil(samples * 0.99) - 1)] / 1_000.0,
+                nanos[samples - 1] / 1_000.0,
+                allocatedPerOp,
+                retained);
+    }
+
+    // Régime établi (code compilé par C2, caches Hibernate et H2 chauds) : tours de 500 ms dont
+    // les médianes restent à 5 % près sur WARMUP_STABLE_ROUNDS tours, après au moins warmupNanos.
+    // Plafonné à MAX_WARMUP_NANOS ; retourne la médiane du dernier tour en microsecondes
+    private static double warmUp(Callable<?> action) throws Exception {
+        long start = System.nanoTime();
+        double previous = Double.NaN;
+        int stableRounds = 0;
+        while (true) {
+            double median = roundMedianNanos(action);
+            stableRounds = Math.abs(median - previous) <= previous * WARMUP_TOLERANCE ? stableRounds + 1 : 0;
+            previous = median;
+            long elapsed = System.nanoTime() - start;
+            if ((elapsed >= warmupNanos && stableRounds >= WARMUP_STABLE_ROUNDS) || elapsed >= MAX_WARMUP_NANOS) {
+                return median / 1_000.0;
+            }
+        }
+    }
+
+    private static double roundMedianNanos(Callable<?> action) throws Exception {
+        List<Long> nanos = new ArrayList<>();
+        long roundEnd = System.nanoTime() + WARMUP_ROUND_NANOS;
+        do {
+            long start = System.nanoTime();
+            action.call();
+            nanos.add(System.nanoTime() - start);
+        } while (System.nanoTime() < roundEnd);
+        nanos.sort(null);
+        return nanos.get(nanos.size() / 2);
+    }
+
+    // === Rapport ===
+    private static void report(List<Result> results) throws IOException {
+        Map<String, Result> previous = new LinkedHashMap<>();
+        List<String> csv = new ArrayList<>();
+        csv.add("rows,operation,samples,p50_us,p99_us,max_us,allocated_bytes_per_op,retained_bytes,cliff");
+
+        System.out.printf("%n%12s  %-26s %12s %12s %12s %16s %14s%n",
+                "rows", "operation", "p50 (us)", "p99 (us)", "max (us)", "alloc/op (B)", "retained (B)");
+        for (Result r : results) {
+            Result before = previous.put(r.operation(), r);
+            boolean cliff = before != null
+                    && r.p50Micros() / before.p50Micros() > (double) r.rows() / before.rows();
+            System.out.printf("%,12d  %-26s %12.1f %12.1f %12.1f %,16d %,14d%s%n",
+                    r.rows(), r.operation(), r.p50Micros(), r.p99Micros(), r.maxMicros(),
+                    r.allocatedBytesPerOp(), r.retainedBytes(), cliff ? "  CLIFF" : "");
+            csv.add(String.format(Locale.ROOT, "%d,%s,%d,%.1f,%.1f,%.1f,%d,%d,%s",
+                    r.rows(), r.operation(), r.samples(), r.p50Micros(), r.p99Micros(), r.maxMicros(),
+                    r.allocatedBytesPerOp(), r.retainedBytes(), cliff));
+        }
+
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, csv);
+        System.out.println("Report written to " + REPORT.toAbsolutePath());
+    }
+}
@@ -0,0 +1,51 @@
+package com.CAN.auth_service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garde de démarrage : les cloisons credentials + general (en cours + en attente) doivent
+ * laisser au moins reserved-validation-threads threads Tomcat à /validate.
+ */
+class BulkheadConfigTest {
+
+    // Défauts : credentials 24 + 40, general 48 + 48 = 160 threads, 40 réservés => 200 requis
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(BulkheadConfig.class)
+            .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @Test
+    void startup_ShouldSucceed_WhenReservedValidationThreadsRemain() {
+        contextRunner.withPropertyValues("server.tomcat.threads.max=200").run(context -> {
+            assertNull(context.getStartupFailure());
+            MeterRegistry registry = context.getBean(MeterRegistry.class);
+            assertNotNull(registry.find("auth.bulkhead.active").tag("lane", "validation").gauge());
+        });
+    }
+
+    @Test
+    void startup_ShouldFail_WhenFewerThanReservedValidationThreadsRemain() {
+        contextRunner.withPropertyValues("server.tomcat.threads.max=199").run(context -> {
+            Throwable failure = context.getStartupFailure();
+            assertNotNull(failure);
+            while (failure.getCause() != null) {
+                failure = failure.getCause();
+            }
+            assertInstanceOf(IllegalStateException.class, failure);
+            assertTrue(failure.getMessage().startsWith("Bulkheads leave 39 Tomcat threads for /validate, 40 required"),
+                    failure.getMessage());
+        });
+    }
+
+    @Test
+    void startup_ShouldApplyReservedValidationThreadsProperty() {
+        contextRunner.withPropertyValues(
+                "server.tomcat.threads.max=200",
+                "auth.bulkhead.reserved-validation-threads=41"
+        ).run(context -> assertNotNull(context.getStartupFailure()));
+    }
+}
@@ -0,0 +1,63 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.entity.VerificationToken;
+import com.CAN.auth_service.repository.UserRepository;
+import com.CAN.auth_service.repository.VerificationTokenRepository;
+import com.CAN.auth_service.service.EmailService;
+import com.CAN.auth_service.service.JwtService;
+import com.CAN.auth_service.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Base commune des tests de contrôleurs : application complète sur H2 via MockMvc,
+ * base vidée avant chaque test, l'envoi d'email est simulé.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+abstract class AbstractControllerIT {
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected UserService userService;
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected VerificationTokenRepository tokenRepository;
+
+    @Autowired
+    protected JwtService jwtService;
+
+    @MockitoBean
+    protected EmailService emailService;
+
+    @BeforeEach
+    void cleanDatabase() {
+        tokenRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    protected User createUser(String username, Role role, boolean enabled) {
+        VerificationToken token = userService.registerUser(username, username + "@test.com", "password", role);
+        if (enabled) {
+            userService.verifyToken(token.getToken());
+        }
+        return userRepository.findByEmail(username + "@test.com").orElseThrow();
+    }
+
+    protected String bearer(User user) {
+        return "Bearer " + jwtService.generateToken(user.getEmail(), user.getRole().name());
+    }
+}
@@ -0,0 +1,12 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.support.QueryCountingConfig;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Base commune des tests de budget SQL : même fixture que {@link AbstractControllerIT},
+ * avec la DataSource instrumentée qui compte les requêtes par thread.
+ */
+@Import(QueryCountingConfig.class)
+abstract class AbstractQueryBudgetTest extends AbstractControllerIT {
+}
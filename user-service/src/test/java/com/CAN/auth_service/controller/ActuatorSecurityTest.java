@@ -0,0 +1,42 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Actuator : seule la santé est publique, les métriques sont réservées aux ADMIN.
+ */
+class ActuatorSecurityTest extends AbstractControllerIT {
+
+    @Test
+    void health_ShouldBePublic() throws Exception {
+        // 200 ou 503 selon l'indicateur Eureka (absent en test) : seule l'absence de 403 compte ici
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(result -> assertNotEquals(403, result.getResponse().getStatus()))
+                .andExpect(jsonPath("$.status").exists());
+    }
+
+    @Test
+    void metrics_ShouldRejectAnonymousAndNonAdminCallers() throws Exception {
+        User visitor = createUser("visitor", Role.VISITOR, true);
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics/auth.bulkhead.active").header("Authorization", bearer(visitor)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void metrics_ShouldBeReadableByAdmin() throws Exception {
+        User admin = createUser("admin", Role.ADMIN, true);
+
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", bearer(admin)))
+                .andExpect(status().isOk());
+    }
+}
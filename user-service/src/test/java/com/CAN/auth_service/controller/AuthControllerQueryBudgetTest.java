@@ -0,0 +1,73 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.entity.VerificationToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static com.CAN.auth_service.support.QueryBudget.assertAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerQueryBudgetTest extends AbstractQueryBudgetTest {
+
+    @Test
+    void register_ShouldStayWithinBudget() throws Exception {
+        // SELECT email existant + INSERT user + INSERT token
+        assertAtMost(3, "POST /api/CAN/auth/register", () ->
+                mockMvc.perform(post("/api/CAN/auth/register")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {"username":"alice","email":"alice@test.com","password":"password","role":"VISITOR"}
+                                        """))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void verify_ShouldStayWithinBudget() throws Exception {
+        VerificationToken token = userService.registerUser("bob", "bob@test.com", "password", Role.VISITOR);
+
+        // SELECT token + SELECT user (association) + UPDATE user + DELETE token (usage unique)
+        assertAtMost(4, "GET /api/CAN/auth/verify", () ->
+                mockMvc.perform(get("/api/CAN/auth/verify").param("token", token.getToken()))
+                        .andExpect(status().isFound()));
+    }
+
+    @Test
+    void login_ShouldStayWithinBudget() throws Exception {
+        createUser("carol", Role.VISITOR, true);
+
+        assertAtMost(1, "POST /api/CAN/auth/login", () ->
+                mockMvc.perform(post("/api/CAN/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {"email":"carol@test.com","password":"password"}
+                                        """))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void login_ShouldStayWithinBudget_WhenCredentialsAreInvalid() throws Exception {
+        createUser("dave", Role.VISITOR, true);
+
+        assertAtMost(1, "POST /api/CAN/auth/login (bad password)", () ->
+                mockMvc.perform(post("/api/CAN/auth/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {"email":"dave@test.com","password":"wrong"}
+                                        """))
+                        .andExpect(status().isBadRequest()));
+    }
+
+    @Test
+    void validate_ShouldNotTouchTheDatabase() throws Exception {
+        User user = createUser("erin", Role.VISITOR, true);
+        String authorization = bearer(user);
+
+        assertAtMost(0, "GET /api/CAN/auth/validate", () ->
+                mockMvc.perform(get("/api/CAN/auth/validate").header("Authorization", authorization))
+                        .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,144 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Événements JFR custom enregistrés avec le profil livré (jfr/auth-service.jfc) : chaque étape
+ * (JWT, bcrypt, repository) porte le Request Id de l'HttpRequest qui l'englobe.
+ */
+class JfrEventsTest extends AbstractControllerIT {
+
+    private static final String HTTP_REQUEST = "com.CAN.auth.HttpRequest";
+    private static final String JWT = "com.CAN.auth.Jwt";
+    private static final String PASSWORD_ENCODER = "com.CAN.auth.PasswordEncoder";
+    private static final String REPOSITORY = "com.CAN.auth.Repository";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void loginAndProfile_ShouldEmitStageEventsSharingTheHttpRequestId() throws Exception {
+        User user = createUser("jfr", Role.VISITOR, true);
+        String bearer = bearer(user);
+
+        List<RecordedEvent> events = record(() -> {
+            mockMvc.perform(post("/api/CAN/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"email":"jfr@test.com","password":"password"}
+                                    """))
+                    .andExpect(status().isOk());
+            mockMvc.perform(get("/api/CAN/users/profile").header("Authorization", bearer))
+                    .andExpect(status().isOk());
+        });
+
+        Map<String, List<RecordedEvent>> login = stagesOf(events, "POST", "/api/CAN/auth/login");
+        assertStage(login, PASSWORD_ENCODER, "operation", "matches");
+        assertStage(login, JWT, "operation", "sign");
+        // Émis seulement si RepositoryJfrPostProcessor a greffé l'intercepteur avant afterPropertiesSet
+        assertStage(login, REPOSITORY, "method", "findByEmail");
+
+        Map<String, List<RecordedEvent>> profile = stagesOf(events, "GET", "/api/CAN/users/profile");
+        assertStage(profile, JWT, "operation", "verify");
+        assertStage(profile, REPOSITORY, "method", "findByEmail");
+
+        // Profil always-on : aucune stack trace capturée
+        for (RecordedEvent event : events) {
+            assertNull(event.getStackTrace(), event.getEventType().getName() + " recorded a stack trace");
+        }
+    }
+
+    @Test
+    void validate_ShouldVerifyTokenOnce() throws Exception {
+        User user = createUser("jfr", Role.VISITOR, true);
+        String bearer = bearer(user);
+
+        List<RecordedEvent> events = record(() -> {
+            mockMvc.perform(get("/api/CAN/auth/validate").header("Authorization", bearer))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.valid").value(true))
+                    .andExpect(jsonPath("$.email").value("jfr@test.com"))
+                    .andExpect(jsonPath("$.role").value("VISITOR"));
+            mockMvc.perform(get("/api/CAN/auth/validate").header("Authorization", "Bearer not-a-jwt"))
+                    .andExpect(status().isUnauthorized())
+                    .andExpect(jsonPath("$.valid").value(false));
+        });
+
+        // Un seul parsing par requête, réussi ou non
+        List<RecordedEvent> verifications = stagesOf(events, "GET", "/api/CAN/auth/validate", 2).get(JWT);
+        assertEquals(2, verifications.size());
+        assertEquals(1, verifications.stream().filter(event -> event.getBoolean("success")).count());
+    }
+
+    // Étapes portant le Request Id (non nul, distinct) des HttpRequest correspondants, par type d'événement
+    private static Map<String, List<RecordedEvent>> stagesOf(List<RecordedEvent> events, String method, String uri) {
+        return stagesOf(events, method, uri, 1);
+    }
+
+    private static Map<String, List<RecordedEvent>> stagesOf(List<RecordedEvent> events, String method, String uri,
+                                                             int expectedRequests) {
+        List<RecordedEvent> requests = events.stream()
+                .filter(event -> event.getEventType().getName().equals(HTTP_REQUEST))
+                .filter(event -> method.equals(event.getString("method")) && uri.equals(event.getString("uri")))
+                .toList();
+        assertEquals(expectedRequests, requests.size(), "HttpRequest events for " + method + " " + uri);
+        Set<Long> requestIds = requests.stream().map(event -> event.getLong("requestId")).collect(Collectors.toSet());
+        assertEquals(expectedRequests, requestIds.size());
+        assertFalse(requestIds.contains(0L));
+
+        return events.stream()
+                .filter(event -> requestIds.contains(event.getLong("requestId")))
+                .filter(event -> !event.getEventType().getName().equals(HTTP_REQUEST))
+                .collect(Collectors.groupingBy(event -> event.getEventType().getName()));
+    }
+
+    private static void assertStage(Map<String, List<RecordedEvent>> stages, String type, String field, String value) {
+        List<RecordedEvent> matching = stages.getOrDefault(type, List.of());
+        assertTrue(matching.stream().anyMatch(event -> value.equals(event.getString(field))),
+                type + " with " + field + "=" + value + " missing, got " + stages.keySet());
+    }
+
+    @FunctionalInterface
+    private interface Requests {
+        void run() throws Exception;
+    }
+
+    private List<RecordedEvent> record(Requests requests) throws Exception {
+        Configuration profile;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/jfr/auth-service.jfc"), StandardCharsets.UTF_8)) {
+            profile = Configuration.create(reader);
+        }
+        Path file = tempDir.resolve("auth.jfr");
+        try (Recording recording = new Recording(profile)) {
+            recording.start();
+            requests.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+}
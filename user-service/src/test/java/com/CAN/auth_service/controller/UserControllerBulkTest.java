@@ -0,0 +1,119 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.dto.UserStatsDTO;
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.entity.VerificationToken;
+import com.CAN.auth_service.service.UserStatsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /bulk par filtre : pagination par clé sur plusieurs lots (taille de lot réduite à 2),
+ * effets en base et réconciliation des compteurs.
+ */
+class UserControllerBulkTest extends AbstractControllerIT {
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    private User admin;
+    private final List<VerificationToken> visitorTokens = new ArrayList<>();
+    private Object originalBatchSize;
+
+    @BeforeEach
+    void setUp() {
+        Object target = AopTestUtils.getTargetObject(userService);
+        originalBatchSize = ReflectionTestUtils.getField(target, "bulkBatchSize");
+        ReflectionTestUtils.setField(target, "bulkBatchSize", 2);
+
+        admin = createUser("admin", Role.ADMIN, true);
+        createUser("proposer", Role.PROPOSER, true);
+        visitorTokens.clear();
+        for (int i = 0; i < 5; i++) {
+            VerificationToken token = userService.registerUser("visitor" + i, "visitor" + i + "@test.com", "password", Role.VISITOR);
+            userService.verifyToken(token.getToken());
+            visitorTokens.add(token);
+        }
+    }
+
+    @AfterEach
+    void restoreBatchSize() {
+        Object target = AopTestUtils.getTargetObject(userService);
+        ReflectionTestUtils.setField(target, "bulkBatchSize", originalBatchSize);
+    }
+
+    @Test
+    void bulkDisableByFilter_ShouldDisableEveryMatchAcrossBatches() throws Exception {
+        bulk("""
+                {"action":"DISABLE","role":"VISITOR","enabled":true}
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+
+        for (int i = 0; i < 5; i++) {
+            assertFalse(userRepository.findByEmail("visitor" + i + "@test.com").orElseThrow().isEnabled());
+        }
+        assertTrue(userRepository.findByEmail("proposer@test.com").orElseThrow().isEnabled());
+        assertTrue(userRepository.findById(admin.getId()).orElseThrow().isEnabled());
+
+        // Token consommé à la vérification : l'ancien lien ne réactive pas le compte
+        mockMvc.perform(get("/api/CAN/auth/verify").param("token", visitorTokens.get(0).getToken()))
+                .andExpect(header().string("Location", "http://localhost:3000/verified?status=failed"));
+        assertFalse(userRepository.findByEmail("visitor0@test.com").orElseThrow().isEnabled());
+    }
+
+    @Test
+    void bulkDeleteByFilter_ShouldDeleteEveryMatchAcrossBatches() throws Exception {
+        bulk("""
+                {"action":"DELETE","role":"VISITOR"}
+                """)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(5));
+
+        assertEquals(2, userRepository.count());
+        assertEquals(0, tokenRepository.count());
+    }
+
+    @Test
+    void bulkDisable_ShouldMarkStatsStaleUntilNextReconciliation() throws Exception {
+        userStatsService.reconcile();
+        assertEquals(5L, userStatsService.getStats().getByRole().get("VISITOR"));
+        long enabledBefore = userStatsService.getStats().getEnabled();
+
+        bulk("""
+                {"action":"DISABLE","role":"VISITOR"}
+                """)
+                .andExpect(status().isOk());
+
+        // markStale() : la prochaine vérification planifiée réconcilie sans attendre l'intervalle
+        userStatsService.reconcileIfNeeded();
+        UserStatsDTO stats = userStatsService.getStats();
+        assertEquals(enabledBefore - 5, stats.getEnabled());
+        assertEquals(5, stats.getPendingVerification());
+        assertEquals(7, stats.getTotal());
+    }
+
+    private ResultActions bulk(String body) throws Exception {
+        return mockMvc.perform(post("/api/CAN/users/bulk")
+                .header("Authorization", bearer(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
@@ -0,0 +1,99 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.entity.VerificationToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH : conflits de version (@Version) et d'unicité remontés en 409, désactivation
+ * non annulable par un ancien lien de vérification.
+ */
+class UserControllerPatchTest extends AbstractControllerIT {
+
+    private User admin;
+    private User visitor;
+
+    @BeforeEach
+    void createUsers() {
+        admin = createUser("admin", Role.ADMIN, true);
+        visitor = createUser("visitor", Role.VISITOR, true);
+    }
+
+    @Test
+    void patchUser_ShouldReturnConflict_WhenVersionIsStale() throws Exception {
+        patchUser(visitor.getId(), """
+                {"city":"Rabat","version":%d}
+                """.formatted(visitor.getVersion()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(visitor.getVersion() + 1));
+
+        // Même version une seconde fois : la ligne a changé entre-temps
+        patchUser(visitor.getId(), """
+                {"city":"Fès","version":%d}
+                """.formatted(visitor.getVersion()))
+                .andExpect(status().isConflict());
+
+        assertEquals("Rabat", userRepository.findById(visitor.getId()).orElseThrow().getCity());
+    }
+
+    @Test
+    void patchUser_ShouldReturnConflict_WhenEmailIsAlreadyUsed() throws Exception {
+        patchUser(visitor.getId(), """
+                {"email":"%s","version":%d}
+                """.formatted(admin.getEmail().toUpperCase(), visitor.getVersion()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflict: username or email already in use"));
+
+        assertEquals("visitor@test.com", userRepository.findById(visitor.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void patchProfile_ShouldReturnConflict_WhenVersionIsStale() throws Exception {
+        mockMvc.perform(patch("/api/CAN/users/profile")
+                        .header("Authorization", bearer(visitor))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"city":"Rabat","version":%d}
+                                """.formatted(visitor.getVersion() + 5)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void patchUser_Disable_ShouldNotBeUndoneByOldVerificationLink() throws Exception {
+        VerificationToken token = userService.registerUser("late", "late@test.com", "password", Role.VISITOR);
+        mockMvc.perform(get("/api/CAN/auth/verify").param("token", token.getToken()))
+                .andExpect(header().string("Location", "http://localhost:3000/verified?status=success"));
+        User late = userRepository.findByEmail("late@test.com").orElseThrow();
+
+        patchUser(late.getId(), """
+                {"enabled":false,"version":%d}
+                """.formatted(late.getVersion()))
+                .andExpect(status().isOk());
+
+        // Token consommé par la première vérification : le lien, encore dans sa validité de 24 h, échoue
+        mockMvc.perform(get("/api/CAN/auth/verify").param("token", token.getToken()))
+                .andExpect(header().string("Location", "http://localhost:3000/verified?status=failed"));
+        assertFalse(userRepository.findById(late.getId()).orElseThrow().isEnabled());
+        assertNull(tokenRepository.findByToken(token.getToken()));
+    }
+
+    private ResultActions patchUser(Long id, String body) throws Exception {
+        return mockMvc.perform(patch("/api/CAN/users/{id}", id)
+                .header("Authorization", bearer(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
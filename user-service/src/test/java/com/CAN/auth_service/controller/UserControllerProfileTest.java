@@ -0,0 +1,60 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /users/profile avec un token émis avant la normalisation des emails (migration V1_1) :
+ * le sujet en casse mixte retrouve le compte stocké en minuscules.
+ */
+class UserControllerProfileTest extends AbstractControllerIT {
+
+    private User visitor;
+    private String legacyBearer;
+
+    @BeforeEach
+    void createVisitor() {
+        visitor = createUser("visitor", Role.VISITOR, true);
+        legacyBearer = "Bearer " + jwtService.generateToken("Visitor@Test.com", Role.VISITOR.name());
+    }
+
+    @Test
+    void getProfile_ShouldAcceptMixedCaseSubject() throws Exception {
+        mockMvc.perform(get("/api/CAN/users/profile").header("Authorization", legacyBearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("visitor@test.com"));
+    }
+
+    @Test
+    void updateProfile_ShouldAcceptMixedCaseSubject() throws Exception {
+        mockMvc.perform(put("/api/CAN/users/profile")
+                        .header("Authorization", legacyBearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"city":"Rabat"}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("Rabat"));
+    }
+
+    @Test
+    void patchProfile_ShouldAcceptMixedCaseSubject() throws Exception {
+        mockMvc.perform(patch("/api/CAN/users/profile")
+                        .header("Authorization", legacyBearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"city":"Fès","version":%d}
+                                """.formatted(visitor.getVersion())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("Fès"));
+    }
+}
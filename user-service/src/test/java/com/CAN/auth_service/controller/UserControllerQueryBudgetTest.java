@@ -0,0 +1,145 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static com.CAN.auth_service.support.QueryBudget.assertAtMost;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserControllerQueryBudgetTest extends AbstractQueryBudgetTest {
+
+    private User admin;
+    private User visitor;
+
+    @BeforeEach
+    void createUsers() {
+        admin = createUser("admin", Role.ADMIN, true);
+        visitor = createUser("visitor", Role.VISITOR, true);
+        createUser("proposer", Role.PROPOSER, false);
+    }
+
+    @Test
+    void getProfile_ShouldStayWithinBudget() throws Exception {
+        assertAtMost(1, "GET /api/CAN/users/profile", () ->
+                mockMvc.perform(get("/api/CAN/users/profile").header("Authorization", bearer(visitor)))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void putProfile_ShouldStayWithinBudget() throws Exception {
+        // SELECT user + UPDATE au flush
+        assertAtMost(2, "PUT /api/CAN/users/profile", () ->
+                mockMvc.perform(put("/api/CAN/users/profile")
+                                .header("Authorization", bearer(visitor))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {"city":"Rabat"}
+                                        """))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void patchProfile_ShouldStayWithinBudget() throws Exception {
+        // UPDATE ... WHERE version = ? + relecture
+        assertAtMost(2, "PATCH /api/CAN/users/profile", () ->
+                mockMvc.perform(patch("/api/CAN/users/profile")
+                                .header("Authorization", bearer(visitor))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {"city":"Rabat","version":%d}
+                                        """.formatted(visitor.getVersion())))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getAllUsers_ShouldUseASingleQuery() throws Exception {
+        assertAtMost(1, "GET /api/CAN/users", () ->
+                mockMvc.perform(get("/api/CAN/users").header("Authorization", bearer(admin)))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getUserById_ShouldStayWithinBudget() throws Exception {
+        assertAtMost(1, "GET /api/CAN/users/{id}", () ->
+                mockMvc.perform(get("/api/CAN/users/{id}", visitor.getId()).header("Authorization", bearer(admin)))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void putUser_ShouldStayWithinBudget() throws Exception {
+        // SELECT user + UPDATE au flush (pas de contrôle d'unicité si username/email inchangés)
+        assertAtMost(2, "PUT /api/CAN/users/{id}", () ->
+                mockMvc.perform(put("/api/CAN/users/{id}", visitor.getId())
+                                .header("Authorization", bearer(admin))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {"city":"Rabat"}
+                                        """))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void patchUser_ShouldStayWithinBudget() throws Exception {
+        assertAtMost(2, "PATCH /api/CAN/users/{id}", () ->
+                mockMvc.perform(patch("/api/CAN/users/{id}", visitor.getId())
+                                .header("Authorization", bearer(admin))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {"role":"PROPOSER","version":%d}
+                                        """.formatted(visitor.getVersion())))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void deleteUser_ShouldStayWithinBudget() throws Exception {
+        // SELECT (role, enabled) pour les stats + DELETE tokens + DELETE user
+        assertAtMost(3, "DELETE /api/CAN/users/{id}", () ->
+                mockMvc.perform(delete("/api/CAN/users/{id}", visitor.getId()).header("Authorization", bearer(admin)))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void bulkDelete_ShouldUseSetBasedStatements() throws Exception {
+        User first = createUser("spam1", Role.VISITOR, false);
+        User second = createUser("spam2", Role.VISITOR, false);
+
+        // Un lot : DELETE tokens + DELETE users, quel que soit le nombre d'ids
+        assertAtMost(2, "POST /api/CAN/users/bulk", () ->
+                mockMvc.perform(post("/api/CAN/users/bulk")
+                                .header("Authorization", bearer(admin))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("""
+                                        {"action":"DELETE","ids":[%d,%d]}
+                                        """.formatted(first.getId(), second.getId())))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getStats_ShouldNotTouchTheDatabase() throws Exception {
+        assertAtMost(0, "GET /api/CAN/users/stats", () ->
+                mockMvc.perform(get("/api/CAN/users/stats").header("Authorization", bearer(admin)))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void getUsersByRole_ShouldUseASingleQuery() throws Exception {
+        assertAtMost(1, "GET /api/CAN/users/role/{role}", () ->
+                mockMvc.perform(get("/api/CAN/users/role/{role}", "visitor").header("Authorization", bearer(admin)))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    void adminEndpoint_ShouldNotQuery_WhenCallerIsNotAdmin() throws Exception {
+        assertAtMost(0, "GET /api/CAN/users (forbidden)", () ->
+                mockMvc.perform(get("/api/CAN/users").header("Authorization", bearer(visitor)))
+                        .andExpect(status().isForbidden()));
+    }
+}
@@ -0,0 +1,67 @@
+package com.CAN.auth_service.controller;
+
+import com.CAN.auth_service.dto.UserStatsDTO;
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.service.UserStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compteurs en mémoire du dashboard : un PUT annulé au commit ne laisse pas de delta fantôme.
+ */
+class UserControllerStatsTest extends AbstractControllerIT {
+
+    @Autowired
+    private UserStatsService userStatsService;
+
+    private User admin;
+    private User visitor;
+
+    @BeforeEach
+    void createUsers() {
+        admin = createUser("admin", Role.ADMIN, true);
+        visitor = createUser("visitor", Role.VISITOR, true);
+        userStatsService.reconcile();
+    }
+
+    @Test
+    void updateUser_ShouldMoveCountersOnCommit() throws Exception {
+        updateUser(visitor.getId(), """
+                {"role":"PROPOSER"}
+                """)
+                .andExpect(status().isOk());
+
+        UserStatsDTO stats = userStatsService.getStats();
+        assertEquals(0L, stats.getByRole().get("VISITOR"));
+        assertEquals(1L, stats.getByRole().get("PROPOSER"));
+    }
+
+    @Test
+    void updateUser_ShouldLeaveCountersUntouched_WhenCommitFails() throws Exception {
+        // Username déjà pris : détecté par uk_users_username au flush du commit, après onChanged
+        updateUser(visitor.getId(), """
+                {"username":"%s","role":"PROPOSER"}
+                """.formatted(admin.getUsername()))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(Role.VISITOR, userRepository.findById(visitor.getId()).orElseThrow().getRole());
+        UserStatsDTO stats = userStatsService.getStats();
+        assertEquals(1L, stats.getByRole().get("VISITOR"));
+        assertEquals(0L, stats.getByRole().get("PROPOSER"));
+    }
+
+    private ResultActions updateUser(Long id, String body) throws Exception {
+        return mockMvc.perform(put("/api/CAN/users/{id}", id)
+                .header("Authorization", bearer(admin))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+}
@@ -0,0 +1,140 @@
+package com.CAN.auth_service.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadFilterTest {
+
+    private final BulkheadFilter.Lane validation =
+            new BulkheadFilter.Lane(new Bulkhead("validation", 2, 0, 0), 503, 1, "{\"valid\":false}");
+    private final BulkheadFilter.Lane credentials =
+            new BulkheadFilter.Lane(new Bulkhead("credentials", 1, 0, 0), 429, 2, "{\"error\":\"busy\"}");
+    private final BulkheadFilter.Lane general =
+            new BulkheadFilter.Lane(new Bulkhead("general", 1, 0, 0), 503, 1, "{\"error\":\"busy\"}");
+
+    private final BulkheadFilter filter = new BulkheadFilter(validation, credentials, general);
+
+    @Test
+    void laneFor_ShouldClassifyEndpoints() {
+        assertSame(validation, filter.laneFor("/api/CAN/auth/validate"));
+        assertSame(credentials, filter.laneFor("/api/CAN/auth/login"));
+        assertSame(credentials, filter.laneFor("/api/CAN/auth/register"));
+        assertSame(general, filter.laneFor("/api/CAN/auth/verify"));
+        assertSame(general, filter.laneFor("/api/CAN/users/profile"));
+    }
+
+    @Test
+    void validation_ShouldStayAvailable_WhenCredentialsLaneIsSaturated() throws Exception {
+        // Une requête login bloquée occupe toute la cloison credentials
+        assertTrue(credentials.bulkhead().tryAcquire());
+        try {
+            MockHttpServletResponse login = perform("/api/CAN/auth/login");
+            assertEquals(429, login.getStatus());
+            assertEquals("2", login.getHeader("Retry-After"));
+
+            MockHttpServletResponse validate = perform("/api/CAN/auth/validate");
+            assertEquals(200, validate.getStatus());
+        } finally {
+            credentials.bulkhead().release();
+        }
+
+        assertEquals(1, credentials.bulkhead().getRejected());
+        assertEquals(0, validation.bulkhead().getRejected());
+        assertEquals(0, validation.bulkhead().getActive());
+    }
+
+    @Test
+    void doFilter_ShouldClassifyRelativeToContextPath() throws Exception {
+        assertTrue(credentials.bulkhead().tryAcquire());
+        try {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth-service/api/CAN/auth/login");
+            request.setContextPath("/auth-service");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+
+            assertEquals(429, response.getStatus());
+        } finally {
+            credentials.bulkhead().release();
+        }
+    }
+
+    @Test
+    void bulkhead_ShouldQueueThenAdmit_WhenPermitFreesBeforeWaitExpires() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, 200);
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(1.0, bulkhead.getSaturation());
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            Future<Boolean> queuedCall = pool.submit(() -> {
+                started.countDown();
+                return bulkhead.tryAcquire();
+            });
+            started.await();
+            waitUntil(() -> bulkhead.getQueued() == 1);
+
+            // File pleine : rejet immédiat
+            assertFalse(bulkhead.tryAcquire());
+
+            // La place se libère avant l'expiration : l'appel en attente passe
+            bulkhead.release();
+            assertTrue(queuedCall.get(1, TimeUnit.SECONDS));
+            assertEquals(0, bulkhead.getQueued());
+            assertEquals(1, bulkhead.getRejected());
+            assertEquals(2, bulkhead.getAccepted());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void bulkhead_ShouldReject_WhenWaitExpires() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, 50);
+        assertTrue(bulkhead.tryAcquire());
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            // Aucune libération : l'appel en file attend maxWaitMs puis est rejeté
+            long start = System.nanoTime();
+            Future<Boolean> queuedCall = pool.submit(bulkhead::tryAcquire);
+            assertFalse(queuedCall.get(2, TimeUnit.SECONDS));
+
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertEquals(0, bulkhead.getQueued());
+            assertEquals(1, bulkhead.getActive());
+            assertEquals(1, bulkhead.getRejected());
+            assertEquals(1, bulkhead.getAccepted());
+        } finally {
+            bulkhead.release();
+            pool.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse perform(String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void waitUntil(java.util.function.BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("condition not reached");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.CAN.auth_service.filter;
+
+import com.CAN.auth_service.service.JwtService;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtAuthFilterTest {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private JwtService jwtService;
+    private JwtAuthFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "dGVzdC1zZWNyZXQtZm9yLWF1dGgtc2VydmljZS10ZXN0cy0yNTYtYml0cw==");
+        filter = new JwtAuthFilter(jwtService);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldNotFilter_ShouldMatchPermitAllRoutesOnly() {
+        assertTrue(filter.shouldNotFilter(get("/api/CAN/auth/login")));
+        assertTrue(filter.shouldNotFilter(get("/api/CAN/auth")));
+        assertTrue(filter.shouldNotFilter(get("/swagger-ui/index.html")));
+        assertTrue(filter.shouldNotFilter(get("/v3/api-docs")));
+        assertTrue(filter.shouldNotFilter(get("/actuator/health")));
+        assertTrue(filter.shouldNotFilter(get("/error")));
+
+        assertFalse(filter.shouldNotFilter(get("/api/CAN/users/profile")));
+        assertFalse(filter.shouldNotFilter(get("/actuator/metrics")));
+        assertFalse(filter.shouldNotFilter(get("/api/CAN/authority")));
+        assertFalse(filter.shouldNotFilter(get("/swagger-ui.html")));
+        assertFalse(filter.shouldNotFilter(get("/error/details")));
+    }
+
+    @Test
+    void doFilter_ShouldAuthenticateWithInternedAuthority() throws Exception {
+        MockHttpServletRequest request = get("/api/CAN/users");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken("admin@test.com", "ADMIN"));
+
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("admin@test.com", authentication.getName());
+        assertSame(RoleAuthorities.ADMIN, authentication.getAuthorities().iterator().next());
+        assertEquals("ADMIN", RoleAuthorities.ADMIN.getAuthority());
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreInvalidToken() throws Exception {
+        MockHttpServletRequest request = get("/api/CAN/users");
+        request.addHeader("Authorization", "Bearer not-a-jwt");
+
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void doFilter_ShouldSkipTokenOnPublicRoute() throws Exception {
+        MockHttpServletRequest request = get("/api/CAN/auth/validate");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken("admin@test.com", "ADMIN"));
+
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    // === Allocation par requête (octets alloués par le thread courant) ===
+    @Test
+    void publicRoute_ShouldNotAllocate() throws Exception {
+        MockHttpServletRequest request = get("/api/CAN/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long bytesPerRequest = allocatedPerRequest(() -> filter.doFilter(request, response, NO_OP_CHAIN));
+
+        assertTrue(bytesPerRequest < 16, "public route allocated " + bytesPerRequest + " bytes/request");
+    }
+
+    @Test
+    void authenticatedRoute_ShouldStayWithinAllocationBudget() throws Exception {
+        MockHttpServletRequest request = get("/api/CAN/users/profile");
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken("user@test.com", "VISITOR"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long bytesPerRequest = allocatedPerRequest(() -> {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            SecurityContextHolder.clearContext();
+        });
+
+        // Coût restant : parsing JWT (base64, JSON, HMAC), claims et token d'authentification
+        assertTrue(bytesPerRequest < 24_000, "authenticated route allocated " + bytesPerRequest + " bytes/request");
+    }
+
+    @FunctionalInterface
+    private interface FilterCall {
+        void run() throws Exception;
+    }
+
+    private static long allocatedPerRequest(FilterCall call) throws Exception {
+        for (int i = 0; i < 20_000; i++) {
+            call.run(); // chauffe : code compilé par le JIT, escape analysis active
+        }
+        int requests = 10_000;
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < requests; i++) {
+            call.run();
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - before) / requests;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
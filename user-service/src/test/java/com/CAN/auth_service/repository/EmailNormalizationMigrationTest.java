@@ -0,0 +1,123 @@
+package com.CAN.auth_service.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Migrations Flyway rejouées sur une base existante (schéma créé par Hibernate avant Flyway,
+ * emails en casse mixte), avec la même configuration baseline que application.properties.
+ */
+class EmailNormalizationMigrationTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // Table telle que la générait ddl-auto=update, avant les colonnes version et last_login_at
+        jdbcTemplate.execute("""
+                CREATE TABLE users (
+                    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    username VARCHAR(50) NOT NULL,
+                    email VARCHAR(100) NOT NULL,
+                    password VARCHAR(120) NOT NULL,
+                    enabled BOOLEAN NOT NULL,
+                    role VARCHAR(255),
+                    full_name VARCHAR(100),
+                    phone_number VARCHAR(20),
+                    city VARCHAR(100),
+                    profile_picture_url VARCHAR(255),
+                    created_at TIMESTAMP(6),
+                    updated_at TIMESTAMP(6),
+                    CONSTRAINT uk_users_username UNIQUE (username),
+                    CONSTRAINT uk_users_email UNIQUE (email)
+                )""");
+    }
+
+    @Test
+    void migrate_ShouldLowercaseMixedCaseEmails() {
+        insertUser("alice", "Alice@Test.com");
+        insertUser("bob", "bob@test.com");
+        insertUser("carol", "CAROL@TEST.COM");
+
+        flyway().migrate();
+
+        assertEquals(List.of("alice@test.com", "bob@test.com", "carol@test.com"),
+                jdbcTemplate.queryForList("SELECT email FROM users ORDER BY username", String.class));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM users WHERE username = 'alice'", Long.class));
+        assertEquals(List.of("1", "1.1", "2"), appliedVersions());
+    }
+
+    @Test
+    void migrate_ShouldFailWithClearMessage_WhenEmailsDifferOnlyByCase() {
+        insertUser("alice", "Alice@Test.com");
+        insertUser("alice2", "alice@test.com");
+        insertUser("carol", "CAROL@TEST.COM");
+
+        FlywayException e = assertThrows(FlywayException.class, () -> flyway().migrate());
+
+        String messages = messages(e);
+        assertTrue(messages.contains("1 email(s) differ only by case [alice@test.com (2 accounts)]"), messages);
+        // Aucune donnée réécrite, V2 non appliquée : la base reste utilisable pour corriger à la main
+        assertEquals(List.of("Alice@Test.com", "alice@test.com", "CAROL@TEST.COM"),
+                jdbcTemplate.queryForList("SELECT email FROM users ORDER BY username", String.class));
+        assertFalse(appliedVersions().contains("2"));
+    }
+
+    @Test
+    void migrate_ShouldSucceed_OnceDuplicatesAreResolved() {
+        insertUser("alice", "Alice@Test.com");
+        insertUser("alice2", "alice@test.com");
+        assertThrows(FlywayException.class, () -> flyway().migrate());
+
+        jdbcTemplate.update("UPDATE users SET email = 'alice2@test.com' WHERE username = 'alice2'");
+        flyway().repair();
+        flyway().migrate();
+
+        assertEquals(List.of("alice@test.com", "alice2@test.com"),
+                jdbcTemplate.queryForList("SELECT email FROM users ORDER BY username", String.class));
+    }
+
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    private void insertUser(String username, String email) {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, enabled, role) VALUES (?, ?, 'x', TRUE, 'VISITOR')",
+                username, email);
+    }
+
+    private List<String> appliedVersions() {
+        return Arrays.stream(flyway().info().applied())
+                .filter(migration -> migration.getState().isApplied() && !migration.getState().isFailed())
+                .map(migration -> migration.getVersion().getVersion())
+                .filter(version -> !"0".equals(version))
+                .toList();
+    }
+
+    // Flyway enveloppe l'exception de la migration : message complet de la chaîne des causes
+    private static String messages(Throwable e) {
+        StringBuilder messages = new StringBuilder();
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            messages.append(t.getMessage()).append('\n');
+        }
+        return messages.toString();
+    }
+}
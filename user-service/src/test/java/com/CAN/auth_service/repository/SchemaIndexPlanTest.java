@@ -0,0 +1,78 @@
+package com.CAN.auth_service.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Vérifie sur H2 (schéma créé par les migrations Flyway) que chaque requête chaude
+ * est servie par l'index prévu et jamais par un parcours complet de table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaIndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findByEmail_ShouldUseUniqueEmailIndex() {
+        assertUsesIndex("SELECT * FROM users WHERE email = 'alice@test.com'", "UK_USERS_EMAIL");
+    }
+
+    @Test
+    void usersByRole_ShouldUseRoleEnabledIndex() {
+        assertUsesIndex("SELECT * FROM users WHERE role = 'ADMIN'", "IX_USERS_ROLE_ENABLED");
+    }
+
+    @Test
+    void bulkFilterOnRoleAndEnabled_ShouldUseRoleEnabledIndex() {
+        assertUsesIndex("SELECT id FROM users WHERE id > 0 AND role = 'VISITOR' AND enabled = FALSE ORDER BY id",
+                "IX_USERS_ROLE_ENABLED");
+    }
+
+    @Test
+    void statsReconciliation_ShouldUseRoleEnabledIndex() {
+        assertUsesIndex("SELECT role, enabled, COUNT(*) FROM users GROUP BY role, enabled", "IX_USERS_ROLE_ENABLED");
+    }
+
+    @Test
+    void signupsPerDay_ShouldUseCreatedAtIndex() {
+        assertUsesIndex("SELECT created_at FROM users WHERE created_at >= TIMESTAMP '2026-01-01 00:00:00'",
+                "IX_USERS_CREATED_AT");
+    }
+
+    @Test
+    void findByToken_ShouldUseTokenIndex() {
+        assertUsesIndex("SELECT * FROM verification_token WHERE token = 'abc'", "UX_VERIFICATION_TOKEN_TOKEN");
+    }
+
+    @Test
+    void expiredTokens_ShouldUseExpiryDateIndex() {
+        assertUsesIndex("SELECT id FROM verification_token WHERE expiry_date < TIMESTAMP '2026-01-01 00:00:00'",
+                "IX_VERIFICATION_TOKEN_EXPIRY_DATE");
+    }
+
+    @Test
+    void deleteTokensByUsers_ShouldUseUserIdIndex() {
+        assertUsesIndex("DELETE FROM verification_token WHERE user_id IN (1, 2)", "UK_VERIFICATION_TOKEN_USER_ID");
+    }
+
+    @Test
+    void loginHistoryByUser_ShouldUseUserIdOccurredAtIndex() {
+        assertUsesIndex("SELECT * FROM login_events WHERE user_id = 1 ORDER BY occurred_at DESC",
+                "IX_LOGIN_EVENTS_USER_ID_OCCURRED_AT");
+    }
+
+    private void assertUsesIndex(String sql, String expectedIndex) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        assertFalse(plan.contains("tableScan"), () -> "Full table scan for: " + sql + "\n" + plan);
+        assertTrue(plan.contains("/* PUBLIC." + expectedIndex),
+                () -> "Expected index " + expectedIndex + " for: " + sql + "\n" + plan);
+    }
+}
@@ -0,0 +1,97 @@
+package com.CAN.auth_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginEventBufferTest {
+
+    private static LoginEventRecorder.LoginAttempt attempt(long userId) {
+        return new LoginEventRecorder.LoginAttempt(userId, "user" + userId + "@test.com", true, LocalDateTime.now());
+    }
+
+    @Test
+    void capacity_ShouldBeRoundedUpToPowerOfTwo() {
+        assertEquals(8, new LoginEventBuffer(5).capacity());
+        assertEquals(8, new LoginEventBuffer(8).capacity());
+    }
+
+    @Test
+    void offer_ShouldRejectWithoutBlocking_WhenFull() {
+        LoginEventBuffer buffer = new LoginEventBuffer(4);
+        for (long i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(attempt(i)));
+        }
+
+        assertFalse(buffer.offer(attempt(99)));
+        assertEquals(4, buffer.size());
+    }
+
+    @Test
+    void drainTo_ShouldReturnEventsInOrder_AndFreeSlots() {
+        LoginEventBuffer buffer = new LoginEventBuffer(4);
+        for (long i = 0; i < 4; i++) {
+            buffer.offer(attempt(i));
+        }
+
+        List<LoginEventRecorder.LoginAttempt> out = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(out, 3));
+        assertEquals(List.of(0L, 1L, 2L), out.stream().map(LoginEventRecorder.LoginAttempt::userId).toList());
+
+        // Les cases consommées sont réutilisables
+        assertTrue(buffer.offer(attempt(4)));
+        assertTrue(buffer.offer(attempt(5)));
+        out.clear();
+        assertEquals(3, buffer.drainTo(out, 10));
+        assertEquals(List.of(3L, 4L, 5L), out.stream().map(LoginEventRecorder.LoginAttempt::userId).toList());
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    void concurrentProducers_ShouldNeitherLoseNorDuplicateAcceptedEvents() throws Exception {
+        LoginEventBuffer buffer = new LoginEventBuffer(1024);
+        int producers = 4;
+        int perProducer = 20_000;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+
+        for (int p = 0; p < producers; p++) {
+            long base = (long) p * perProducer;
+            pool.execute(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    if (buffer.offer(attempt(base + i))) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        // Consommateur unique pendant que les producteurs écrivent
+        Set<Long> seen = new HashSet<>();
+        List<LoginEventRecorder.LoginAttempt> out = new ArrayList<>();
+        while (done.getCount() > 0 || buffer.size() > 0) {
+            buffer.drainTo(out, 256);
+            for (LoginEventRecorder.LoginAttempt a : out) {
+                assertTrue(seen.add(a.userId()), "duplicate event " + a.userId());
+            }
+            out.clear();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(accepted.get(), seen.size());
+    }
+}
@@ -0,0 +1,117 @@
+package com.CAN.auth_service.service;
+
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.repository.UserRepository;
+import com.CAN.auth_service.service.LoginEventRecorder.LoginAttempt;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoginEventRecorderTest {
+
+    private static final String EMAIL = "recorder@test.com";
+
+    @Autowired
+    private LoginEventRecorder recorder;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userService.verifyToken(userService.registerUser("recorder", EMAIL, "password", Role.VISITOR).getToken());
+        user = userRepository.findByEmail(EMAIL).orElseThrow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM login_events WHERE email LIKE ?", "%@test.com");
+        jdbcTemplate.update("DELETE FROM verification_token WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void flush_ShouldIsolateInvalidEventFromRestOfBatch() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        String oversized = "x".repeat(150) + "@test.com"; // dépasse login_events.email VARCHAR(100)
+        long writtenBefore = recorder.getWrittenCount();
+        long failedBefore = recorder.getFailedCount();
+
+        recorder.flush(List.of(
+                new LoginAttempt(user.getId(), EMAIL, true, now),
+                new LoginAttempt(null, oversized, false, now),
+                new LoginAttempt(null, EMAIL, false, now.plusSeconds(1))
+        ));
+
+        assertEquals(2, recorder.getWrittenCount() - writtenBefore);
+        assertEquals(1, recorder.getFailedCount() - failedBefore);
+        assertEquals(recorder.getWrittenCount(), meterRegistry.get("auth.login_events.written").functionCounter().count());
+        assertEquals(recorder.getFailedCount(), meterRegistry.get("auth.login_events.failed").functionCounter().count());
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT user_id, success FROM login_events WHERE email = ? ORDER BY occurred_at", EMAIL);
+        assertEquals(2, rows.size());
+        assertEquals(true, rows.get(0).get("SUCCESS"));
+        assertEquals(false, rows.get(1).get("SUCCESS"));
+        // L'échec sur un compte existant est rattaché au user : historique par user_id interrogeable
+        assertEquals(user.getId(), ((Number) rows.get(1).get("USER_ID")).longValue());
+
+        assertEquals(now, userRepository.findById(user.getId()).orElseThrow().getLastLoginAt());
+    }
+
+    @Test
+    void flush_ShouldLeaveUserIdEmpty_WhenFailedEmailIsUnknown() {
+        recorder.flush(List.of(new LoginAttempt(null, "nobody@test.com", false, LocalDateTime.now())));
+
+        assertNull(jdbcTemplate.queryForObject(
+                "SELECT user_id FROM login_events WHERE email = ?", Long.class, "nobody@test.com"));
+    }
+
+    @Test
+    void recordFailure_ShouldCountDropsInMeters_WhenBufferIsFull() {
+        // Thread d'écriture non démarré : le buffer (capacité 2) n'est jamais vidé
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginEventRecorder full = new LoginEventRecorder(jdbcTemplate, null, registry, 2, 16, 200);
+
+        for (int i = 0; i < 5; i++) {
+            full.recordFailure("user" + i + "@test.com");
+        }
+
+        assertEquals(2, registry.get("auth.login_events.recorded").functionCounter().count());
+        assertEquals(3, registry.get("auth.login_events.dropped").functionCounter().count());
+        assertEquals(2, registry.get("auth.login_events.pending").gauge().value());
+    }
+
+    @Test
+    void normalizeEmail_ShouldTrimLowercaseAndTruncateToColumnSize() {
+        assertEquals(EMAIL, LoginEventRecorder.normalizeEmail("  Recorder@TEST.com "));
+        assertEquals(100, LoginEventRecorder.normalizeEmail("A".repeat(300)).length());
+        assertNull(LoginEventRecorder.normalizeEmail(null));
+    }
+}
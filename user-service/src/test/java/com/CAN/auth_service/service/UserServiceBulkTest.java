@@ -0,0 +1,102 @@
+package com.CAN.auth_service.service;
+
+import com.CAN.auth_service.dto.BulkUserRequest;
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.repository.UserRepository;
+import com.CAN.auth_service.repository.VerificationTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceBulkTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private VerificationTokenRepository tokenRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @InjectMocks
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(userService, "bulkBatchSize", 2);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void bulkDisableByFilter_ShouldPageByKeysetAndMarkStatsStalePerBatch() {
+        BulkUserRequest request = new BulkUserRequest();
+        request.setAction(BulkUserRequest.Action.DISABLE);
+        request.setRole("visitor");
+        request.setEnabled(true);
+
+        when(userRepository.findIdsByFilter(eq(0L), eq(Role.VISITOR), eq(true), isNull(), any(Limit.class)))
+                .thenReturn(List.of(3L, 5L));
+        when(userRepository.findIdsByFilter(eq(5L), eq(Role.VISITOR), eq(true), isNull(), any(Limit.class)))
+                .thenReturn(List.of(8L));
+        when(userRepository.findIdsByFilter(eq(8L), eq(Role.VISITOR), eq(true), isNull(), any(Limit.class)))
+                .thenReturn(List.of());
+        when(userRepository.disableByIds(anyList(), any())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        int affected = userService.bulkUpdateUsers(request);
+
+        assertEquals(3, affected);
+        InOrder order = inOrder(userStatsService, userRepository);
+        order.verify(userStatsService).markStale();
+        order.verify(userRepository).disableByIds(eq(List.of(3L, 5L)), any());
+        order.verify(userStatsService).markStale();
+        order.verify(userRepository).disableByIds(eq(List.of(8L)), any());
+        verify(userRepository, never()).deleteByIds(any());
+        // Tokens consommés par verifyToken : rien à supprimer pour une désactivation
+        verifyNoInteractions(tokenRepository);
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void bulkDeleteByIds_ShouldChunkDistinctSortedIds() {
+        BulkUserRequest request = new BulkUserRequest();
+        request.setAction(BulkUserRequest.Action.DELETE);
+        request.setIds(List.of(9L, 2L, 9L, 4L));
+
+        when(userRepository.deleteByIds(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        assertEquals(3, userService.bulkUpdateUsers(request));
+        verify(tokenRepository).deleteByUserIds(List.of(2L, 4L));
+        verify(tokenRepository).deleteByUserIds(List.of(9L));
+        verify(userStatsService, times(2)).markStale();
+        verify(userRepository, never()).findIdsByFilter(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void bulkUpdate_ShouldRejectRequestWithoutIdsOrFilter() {
+        BulkUserRequest request = new BulkUserRequest();
+        request.setAction(BulkUserRequest.Action.DELETE);
+
+        assertThrows(IllegalArgumentException.class, () -> userService.bulkUpdateUsers(request));
+        verifyNoInteractions(userRepository, tokenRepository, userStatsService);
+    }
+}
@@ -0,0 +1,114 @@
+package com.CAN.auth_service.service;
+
+import com.CAN.auth_service.dto.UpdateProfileRequest;
+import com.CAN.auth_service.dto.UpdateUserRequest;
+import com.CAN.auth_service.dto.UserProfileDTO;
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.entity.User;
+import com.CAN.auth_service.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServicePatchTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatsService userStatsService;
+
+    @InjectMocks
+    private UserService userService;
+
+    // --- PATCH PROFILE ---
+
+    @Test
+    void patchUserProfile_ShouldIssueSingleUpdate_WhenVersionMatches() {
+        String email = "test@test.com";
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setCity("Paris");
+        request.setVersion(3L);
+
+        User updatedUser = User.builder().id(1L).email(email).role(Role.VISITOR).city("Paris").version(4L).build();
+        when(userRepository.patchProfile(eq(email), eq(3L), isNull(), isNull(), eq("Paris"), isNull(), any()))
+                .thenReturn(1);
+        when(userRepository.findByEmail(email)).thenReturn(Optional.of(updatedUser));
+
+        UserProfileDTO result = userService.patchUserProfile(email, request);
+
+        assertEquals("Paris", result.getCity());
+        assertEquals(4L, result.getVersion());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void patchUserProfile_ShouldThrowConflict_WhenVersionIsStale() {
+        String email = "test@test.com";
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setCity("Paris");
+        request.setVersion(3L);
+
+        when(userRepository.patchProfile(eq(email), eq(3L), any(), any(), any(), any(), any())).thenReturn(0);
+        when(userRepository.findByEmail(email))
+                .thenReturn(Optional.of(User.builder().id(1L).email(email).role(Role.VISITOR).version(5L).build()));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> userService.patchUserProfile(email, request));
+    }
+
+    @Test
+    void patchUserProfile_ShouldRejectMissingVersion() {
+        UpdateProfileRequest request = new UpdateProfileRequest();
+        request.setCity("Paris");
+
+        assertThrows(IllegalArgumentException.class, () -> userService.patchUserProfile("test@test.com", request));
+        verifyNoInteractions(userRepository);
+    }
+
+    // --- PATCH USER (ADMIN) ---
+
+    @Test
+    void patchUser_ShouldNormalizeEmailAndMarkStatsStale_WhenRoleChanges() {
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setEmail("  New@Test.com ");
+        request.setRole("proposer");
+        request.setVersion(1L);
+
+        when(userRepository.patchUser(eq(7L), eq(1L), isNull(), eq("new@test.com"), eq(Role.PROPOSER),
+                isNull(), isNull(), isNull(), isNull(), isNull(), any())).thenReturn(1);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(
+                User.builder().id(7L).email("new@test.com").role(Role.PROPOSER).version(2L).build()));
+
+        UserProfileDTO result = userService.patchUser(7L, request);
+
+        assertEquals("PROPOSER", result.getRole());
+        assertEquals(2L, result.getVersion());
+        verify(userStatsService).markStale();
+    }
+
+    @Test
+    void patchUser_ShouldThrowConflictWithoutTouchingStats_WhenVersionIsStale() {
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setEnabled(false);
+        request.setVersion(1L);
+
+        when(userRepository.patchUser(eq(7L), eq(1L), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(0);
+        when(userRepository.findById(7L)).thenReturn(Optional.of(
+                User.builder().id(7L).role(Role.VISITOR).version(4L).build()));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> userService.patchUser(7L, request));
+        verifyNoInteractions(userStatsService);
+    }
+}
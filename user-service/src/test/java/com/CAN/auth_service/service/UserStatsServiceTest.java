@@ -0,0 +1,155 @@
+package com.CAN.auth_service.service;
+
+import com.CAN.auth_service.dto.UserStatsDTO;
+import com.CAN.auth_service.entity.Role;
+import com.CAN.auth_service.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserStatsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserStatsService statsService;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new UserStatsService(userRepository, 7, 300_000);
+    }
+
+    @Test
+    void counters_ShouldFollowRegisterVerifyUpdateDelete() {
+        statsService.onRegistered(Role.VISITOR, false);
+        statsService.onRegistered(Role.VISITOR, false);
+        statsService.onRegistered(Role.ADMIN, false);
+        statsService.onChanged(Role.VISITOR, false, Role.VISITOR, true);   // verify
+        statsService.onChanged(Role.VISITOR, true, Role.PROPOSER, true);   // update role
+        statsService.onDeleted(Role.ADMIN, false);
+
+        UserStatsDTO stats = statsService.getStats();
+
+        assertEquals(2, stats.getTotal());
+        assertEquals(1, stats.getEnabled());
+        assertEquals(1, stats.getPendingVerification());
+        assertEquals(1L, stats.getByRole().get("VISITOR"));
+        assertEquals(1L, stats.getByRole().get("PROPOSER"));
+        assertEquals(0L, stats.getByRole().get("ADMIN"));
+        assertEquals(3L, stats.getSignupsPerDay().get(LocalDate.now()));
+        assertEquals(7, stats.getSignupsPerDay().size());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void onChanged_InTransaction_ShouldApplyDeltaOnlyAfterCommit() {
+        statsService.onRegistered(Role.VISITOR, true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            statsService.onChanged(Role.VISITOR, true, Role.ADMIN, true);
+            assertEquals(1L, statsService.getStats().getByRole().get("VISITOR"));
+
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+            assertEquals(0L, statsService.getStats().getByRole().get("VISITOR"));
+            assertEquals(1L, statsService.getStats().getByRole().get("ADMIN"));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onDeleted_InRolledBackTransaction_ShouldLeaveCountersUntouched() {
+        statsService.onRegistered(Role.VISITOR, true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            statsService.onDeleted(Role.VISITOR, true);
+        } finally {
+            // Rollback : afterCommit n'est jamais appelé
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, statsService.getStats().getTotal());
+    }
+
+    @Test
+    void reconcile_ShouldReplaceCountersWithDatabaseTotals() {
+        statsService.onRegistered(Role.VISITOR, false); // dérive à corriger
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        when(userRepository.countByRoleAndEnabled()).thenReturn(List.of(
+                new Object[]{Role.ADMIN, true, 2L},
+                new Object[]{Role.VISITOR, false, 5L}
+        ));
+        when(userRepository.countSignupsPerDaySince(any()))
+                .thenReturn(List.<Object[]>of(new Object[]{yesterday, 4L}));
+
+        statsService.reconcile();
+        UserStatsDTO stats = statsService.getStats();
+
+        assertEquals(7, stats.getTotal());
+        assertEquals(2, stats.getEnabled());
+        assertEquals(5, stats.getPendingVerification());
+        assertEquals(4L, stats.getSignupsPerDay().get(yesterday));
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    @Test
+    void reconcile_ShouldZeroDays_MissingFromQueryResult() {
+        statsService.onRegistered(Role.VISITOR, false);
+        statsService.onRegistered(Role.VISITOR, false);
+        when(userRepository.countByRoleAndEnabled()).thenReturn(List.of());
+        when(userRepository.countSignupsPerDaySince(any())).thenReturn(List.of()); // inscriptions du jour supprimées
+
+        statsService.reconcile();
+        UserStatsDTO stats = statsService.getStats();
+
+        assertEquals(0L, stats.getSignupsPerDay().get(LocalDate.now()));
+        assertEquals(0, stats.getTotal());
+    }
+
+    @Test
+    void reconcile_ShouldKeepIncrementsMadeWhileQueryRuns() {
+        statsService.onRegistered(Role.VISITOR, true); // dérive : absente de la base
+        when(userRepository.countByRoleAndEnabled()).thenAnswer(invocation -> {
+            // Inscription concurrente validée après le SELECT : absente du résultat
+            statsService.onRegistered(Role.ADMIN, false);
+            return List.<Object[]>of(new Object[]{Role.VISITOR, true, 3L});
+        });
+        when(userRepository.countSignupsPerDaySince(any())).thenAnswer(invocation -> {
+            statsService.onRegistered(Role.ADMIN, false);
+            return List.<Object[]>of(new Object[]{LocalDate.now(), 3L});
+        });
+
+        statsService.reconcile();
+        UserStatsDTO stats = statsService.getStats();
+
+        assertEquals(3L, stats.getByRole().get("VISITOR"));
+        assertEquals(2L, stats.getByRole().get("ADMIN"));   // les deux inscriptions concurrentes
+        assertEquals(4L, stats.getSignupsPerDay().get(LocalDate.now())); // 3 en base + 1 pendant la requête
+    }
+
+    @Test
+    void reconcileIfNeeded_ShouldOnlyQuery_WhenStaleOrDue() {
+        when(userRepository.countByRoleAndEnabled()).thenReturn(List.of());
+        when(userRepository.countSignupsPerDaySince(any())).thenReturn(List.of());
+
+        statsService.reconcileIfNeeded(); // état initial : stale
+        statsService.reconcileIfNeeded(); // à jour : rien à faire
+        verify(userRepository, times(1)).countByRoleAndEnabled();
+
+        statsService.markStale();
+        statsService.reconcileIfNeeded();
+        verify(userRepository, times(2)).countByRoleAndEnabled();
+    }
+}
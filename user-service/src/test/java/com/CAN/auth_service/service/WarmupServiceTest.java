@@ -0,0 +1,107 @@
+package com.CAN.auth_service.service;
+
+import com.CAN.auth_service.dto.UserProfileDTO;
+import com.CAN.auth_service.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WarmupServiceTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private UserService userService;
+    @Mock
+    private ObjectProvider<ApplicationInfoManager> applicationInfoManagerProvider;
+    @Mock
+    private ApplicationInfoManager applicationInfoManager;
+
+    private JwtService jwtService;
+    private WarmupService warmupService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = spy(new JwtService());
+        ReflectionTestUtils.setField(jwtService, "secret", "dGVzdC1zZWNyZXQtZm9yLWF1dGgtc2VydmljZS10ZXN0cy0yNTYtYml0cw==");
+        when(applicationInfoManagerProvider.getIfAvailable()).thenReturn(applicationInfoManager);
+
+        warmupService = new WarmupService(jwtService, passwordEncoder, userRepository, userService,
+                new ObjectMapper(), applicationInfoManagerProvider);
+        ReflectionTestUtils.setField(warmupService, "enabled", true);
+        ReflectionTestUtils.setField(warmupService, "timeBudgetMs", 60_000L);
+        ReflectionTestUtils.setField(warmupService, "iterations", 50);
+        ReflectionTestUtils.setField(warmupService, "bcryptIterations", 3);
+        ReflectionTestUtils.setField(warmupService, "repositoryIterations", 5);
+    }
+
+    @Test
+    void warmUp_ShouldRunEveryWorkloadBeforeMarkingUp() {
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        when(userService.convertToDTO(any())).thenReturn(UserProfileDTO.builder().id(0L).role("VISITOR").build());
+
+        warmupService.warmUp();
+
+        InOrder order = inOrder(jwtService, userService, userRepository, passwordEncoder, applicationInfoManager);
+        order.verify(passwordEncoder).encode("warmup-password");
+        order.verify(passwordEncoder, times(3)).matches("warmup-password", "hash");
+        order.verify(jwtService, times(50)).generateToken(anyString(), anyString());
+        order.verify(userService, times(50)).convertToDTO(any());
+        order.verify(userRepository, times(5)).findByEmail("warmup@auth-service.invalid");
+        order.verify(applicationInfoManager).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        assertTrue(warmupService.isCompleted());
+    }
+
+    @Test
+    void warmUp_ShouldStopAtTimeBudget_AfterOneBcryptRound() {
+        ReflectionTestUtils.setField(warmupService, "timeBudgetMs", 0L);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+
+        warmupService.warmUp();
+
+        // Le chemin de login le plus lent est chauffé même sans budget
+        verify(passwordEncoder).encode("warmup-password");
+        verify(passwordEncoder).matches("warmup-password", "hash");
+        verify(jwtService, never()).generateToken(anyString(), anyString());
+        verifyNoInteractions(userRepository, userService);
+        verify(applicationInfoManager).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+    }
+
+    @Test
+    void warmUp_WhenDisabled_ShouldMarkUpImmediately() {
+        ReflectionTestUtils.setField(warmupService, "enabled", false);
+
+        warmupService.warmUp();
+
+        verifyNoInteractions(passwordEncoder, userRepository, userService);
+        verify(applicationInfoManager).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        assertTrue(warmupService.isCompleted());
+    }
+
+    @Test
+    void warmUp_WhenWorkloadFails_ShouldStillMarkUp() {
+        when(passwordEncoder.encode(anyString())).thenThrow(new IllegalStateException("encoder down"));
+
+        warmupService.warmUp();
+
+        verify(applicationInfoManager).setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+        assertTrue(warmupService.isCompleted());
+    }
+}
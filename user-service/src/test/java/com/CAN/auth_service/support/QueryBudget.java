@@ -0,0 +1,41 @@
+package com.CAN.auth_service.support;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Vérifie qu'une action (typiquement une requête MockMvc) reste dans son budget de requêtes SQL.
+ * En cas de dépassement, le message liste toutes les requêtes exécutées.
+ */
+public final class QueryBudget {
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    private QueryBudget() {
+    }
+
+    public static List<String> assertAtMost(int maxStatements, String label, Action action) throws Exception {
+        SqlStatementRecorder.start();
+        List<String> statements;
+        try {
+            action.run();
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+
+        if (statements.size() > maxStatements) {
+            String listing = IntStream.range(0, statements.size())
+                    .mapToObj(i -> "  " + (i + 1) + ". " + statements.get(i))
+                    .collect(Collectors.joining("\n"));
+            fail(label + ": expected at most " + maxStatements + " SQL statement(s) but "
+                    + statements.size() + " ran:\n" + listing);
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,80 @@
+package com.CAN.auth_service.support;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * DataSource de test qui signale chaque aller-retour JDBC au {@link SqlStatementRecorder}.
+ * Un executeBatch compte pour une seule requête, comme sur le réseau.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> wrapStatement(PreparedStatement.class, result, (String) args[0]);
+                case "prepareCall" -> wrapStatement(CallableStatement.class, result, (String) args[0]);
+                case "createStatement" -> wrapStatement(Statement.class, result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private static <T extends Statement> T wrapStatement(Class<T> type, Object statement, String preparedSql) {
+        return proxy(type, statement, (target, method, args) -> {
+            String name = method.getName();
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                SqlStatementRecorder.record("[batch] " + preparedSql);
+            } else if (name.startsWith("execute")) {
+                SqlStatementRecorder.record(args != null && args.length > 0 && args[0] instanceof String sql
+                        ? sql
+                        : preparedSql);
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
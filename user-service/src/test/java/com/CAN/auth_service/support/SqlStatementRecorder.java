@@ -0,0 +1,35 @@
+package com.CAN.auth_service.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Enregistre les requêtes SQL exécutées par le thread courant.
+ * Seul le thread qui a appelé {@link #start()} est compté : les threads
+ * de fond (writers asynchrones, schedulers) n'influencent pas le budget.
+ */
+public final class SqlStatementRecorder {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    private SqlStatementRecorder() {
+    }
+
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> statements = RECORDED.get();
+        RECORDED.remove();
+        return statements == null ? List.of() : Collections.unmodifiableList(statements);
+    }
+
+    static void record(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql.replaceAll("\\s+", " ").trim());
+        }
+    }
+}
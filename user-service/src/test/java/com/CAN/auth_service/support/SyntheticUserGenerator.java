@@ -0,0 +1,137 @@
+package com.CAN.auth_service.support;
+
+import com.CAN.auth_service.entity.Role;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Génère des lignes users / verification_token en volume (millions de lignes) par INSERT
+ * batch JDBC, lot par lot : la mémoire utilisée ne dépend que de la taille d'un lot.
+ * Chaque ligne est déterminée par (seed, index) : les emails sont prévisibles
+ * ({@link #emailOf(long)}) et une génération peut reprendre là où la précédente s'est arrêtée.
+ *
+ * Répartition : 90 % VISITOR, 9,9 % PROPOSER, 0,1 % ADMIN ; 85 % des comptes vérifiés,
+ * les autres ont un token de vérification (un sur trois déjà expiré). Inscriptions
+ * étalées sur les 365 derniers jours. Mot de passe commun : {@link #PASSWORD}.
+ */
+public final class SyntheticUserGenerator {
+
+    public static final String PASSWORD = "password";
+    public static final String EMAIL_DOMAIN = "@synthetic.test";
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (username, email, password, enabled, role, full_name, phone_number, city,
+                               created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    private static final String INSERT_TOKEN = """
+            INSERT INTO verification_token (token, expiry_date, user_id)
+            SELECT ?, ?, id FROM users WHERE email = ?
+            """;
+    private static final String[] CITIES = {
+            "Casablanca", "Rabat", "Marrakech", "Fès", "Tanger", "Agadir", "Meknès", "Oujda", "Kénitra", "Tétouan"
+    };
+    private static final String[] FIRST_NAMES = {
+            "Yassine", "Sara", "Omar", "Imane", "Karim", "Salma", "Mehdi", "Nadia", "Anas", "Leila"
+    };
+    private static final String[] LAST_NAMES = {
+            "Alaoui", "Bennani", "Chraibi", "El Idrissi", "Fassi", "Haddad", "Lahlou", "Mansouri", "Tazi", "Zerouali"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long seed;
+    private final String passwordHash;
+    private final LocalDateTime now = LocalDateTime.now();
+    private int batchSize = 5_000;
+
+    public SyntheticUserGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.seed = seed;
+        this.passwordHash = new BCryptPasswordEncoder().encode(PASSWORD); // un seul hash pour toutes les lignes
+    }
+
+    public SyntheticUserGenerator batchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    public static String usernameOf(long index) {
+        return "synthetic" + index;
+    }
+
+    public static String emailOf(long index) {
+        return usernameOf(index) + EMAIL_DOMAIN;
+    }
+
+    /** Insère les utilisateurs d'index [fromIndex, fromIndex + count) ; retourne le nombre de tokens créés. */
+    public long generate(long fromIndex, long count) {
+        List<Object[]> users = new ArrayList<>(batchSize);
+        List<Object[]> tokens = new ArrayList<>(batchSize);
+        long tokenCount = 0;
+
+        for (long index = fromIndex; index < fromIndex + count; index++) {
+            SplittableRandom random = new SplittableRandom(seed * 31 + index);
+            Role role = roleFor(random.nextInt(1_000));
+            boolean enabled = random.nextInt(100) < 85;
+            LocalDateTime createdAt = now.minusMinutes(random.nextLong(365L * 24 * 60));
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+
+            users.add(new Object[]{
+                    usernameOf(index),
+                    emailOf(index),
+                    passwordHash,
+                    enabled,
+                    role.name(),
+                    firstName + " " + lastName,
+                    "+2126" + String.format("%08d", random.nextInt(100_000_000)),
+                    CITIES[random.nextInt(CITIES.length)],
+                    Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(createdAt)
+            });
+            if (!enabled) {
+                LocalDateTime expiry = random.nextInt(3) == 0 ? now.minusHours(1) : now.plusHours(24);
+                tokens.add(new Object[]{UUID.randomUUID().toString(), Timestamp.valueOf(expiry), emailOf(index)});
+            }
+
+            if (users.size() == batchSize) {
+                tokenCount += flush(users, tokens);
+            }
+        }
+        return tokenCount + flush(users, tokens);
+    }
+
+    /** Supprime toutes les lignes générées (et leurs tokens). */
+    public void purge() {
+        jdbcTemplate.update("DELETE FROM verification_token WHERE user_id IN (SELECT id FROM users WHERE email LIKE ?)",
+                "%" + EMAIL_DOMAIN);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", "%" + EMAIL_DOMAIN);
+    }
+
+    private static Role roleFor(int perMille) {
+        if (perMille == 0) {
+            return Role.ADMIN;
+        }
+        return perMille <= 99 ? Role.PROPOSER : Role.VISITOR;
+    }
+
+    private long flush(List<Object[]> users, List<Object[]> tokens) {
+        if (!users.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_USER, users);
+            users.clear();
+        }
+        long created = tokens.size();
+        if (!tokens.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TOKEN, tokens);
+            tokens.clear();
+        }
+        return created;
+    }
+}
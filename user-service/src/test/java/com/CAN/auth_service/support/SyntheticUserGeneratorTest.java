@@ -0,0 +1,79 @@
+package com.CAN.auth_service.support;
+
+import com.CAN.auth_service.repository.UserRepository;
+import com.CAN.auth_service.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SyntheticUserGeneratorTest {
+
+    private static final String SYNTHETIC = "%" + SyntheticUserGenerator.EMAIL_DOMAIN;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private SyntheticUserGenerator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new SyntheticUserGenerator(jdbcTemplate, 7L).batchSize(1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        generator.purge();
+    }
+
+    @Test
+    void generate_ShouldInsertRowsWithRealisticDistribution() {
+        long tokens = generator.generate(0, 10_000);
+
+        assertEquals(10_000L, count("SELECT COUNT(*) FROM users WHERE email LIKE ?"));
+        long pending = count("SELECT COUNT(*) FROM users WHERE email LIKE ? AND enabled = FALSE");
+        assertEquals(pending, tokens);
+        assertEquals(tokens, count("SELECT COUNT(*) FROM verification_token t JOIN users u ON u.id = t.user_id WHERE u.email LIKE ?"));
+        assertTrue(pending > 1_200 && pending < 1_800, "~15% unverified, got " + pending);
+
+        Map<String, Object> roles = jdbcTemplate.queryForMap("""
+                SELECT SUM(CASE WHEN role = 'VISITOR' THEN 1 ELSE 0 END) AS visitors,
+                       SUM(CASE WHEN role = 'PROPOSER' THEN 1 ELSE 0 END) AS proposers,
+                       SUM(CASE WHEN role = 'ADMIN' THEN 1 ELSE 0 END) AS admins
+                FROM users WHERE email LIKE ?
+                """, SYNTHETIC);
+        assertTrue(((Number) roles.get("VISITORS")).longValue() > 8_700);
+        assertTrue(((Number) roles.get("PROPOSERS")).longValue() > 800);
+        assertTrue(((Number) roles.get("ADMINS")).longValue() < 40);
+    }
+
+    @Test
+    void generate_ShouldResumeFromIndexAndProduceUsableAccounts() {
+        generator.generate(0, 500);
+        generator.generate(500, 500);
+
+        assertEquals(1_000L, count("SELECT COUNT(*) FROM users WHERE email LIKE ?"));
+        String email = SyntheticUserGenerator.emailOf(999);
+        assertTrue(userRepository.findByEmail(email).isPresent());
+        assertEquals(email, userService.getUserProfile(email).getEmail());
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class, SYNTHETIC);
+    }
+}